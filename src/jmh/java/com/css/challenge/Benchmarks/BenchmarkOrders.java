@@ -0,0 +1,81 @@
+package com.css.challenge.Benchmarks;
+
+import com.css.challenge.Actions.RingBufferActionSink;
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Kitchen;
+import com.css.challenge.Storage.CoolerStorage;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import com.css.challenge.Storage.TimeWindowedDiscardedOrderRegistry;
+import com.css.challenge.Strategies.FreshnessDiscardStrategy;
+import com.css.challenge.Trace.EventTracer;
+import com.css.challenge.Trace.TraceCategory;
+import com.css.challenge.Trace.TraceLevel;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Shared fixtures for the benchmarks.
+ * Orders stay fresh for an hour so nothing expires mid-measurement, and kitchens keep a bounded
+ * action history so long runs measure the kitchen rather than an ever-growing action list.
+ * Tracing is off so the benchmarks measure the kitchen rather than the log.
+ *
+ * Benchmarks that change the kitchen they run against (a placement fills it, a pickup empties it)
+ * cannot rebuild it before every call without the setup dominating the timing. They run in
+ * single-shot mode instead: each iteration calls the benchmark BATCH times, once per fixture in a
+ * pool built before the iteration, and the score is divided back to one call.
+ */
+final class BenchmarkOrders {
+
+    static final Duration FRESHNESS = Duration.ofHours(1);
+
+    // calls per single-shot iteration, and so fixtures per pool
+    static final int BATCH = 1024;
+    static final int BATCH_WARMUP_ITERATIONS = 20;
+    static final int BATCH_MEASUREMENT_ITERATIONS = 20;
+    private static final int ACTION_RETENTION = 1024;
+
+    static {
+        for (TraceCategory category : TraceCategory.values()) {
+            EventTracer.global().setLevel(category, TraceLevel.OFF);
+        }
+    }
+
+    private BenchmarkOrders() {
+    }
+
+    static KitchenOrder order(String id, Temperature temperature) {
+        return KitchenOrder.builder()
+                .id(id)
+                .name("bench-" + temperature)
+                .temperature(temperature)
+                .price(BigDecimal.TEN)
+                .freshness(FRESHNESS)
+                .build();
+    }
+
+    /**
+     * A kitchen with default capacities and the freshness discard strategy
+     */
+    static Kitchen kitchen(Kitchen.LockingMode lockingMode) {
+        return kitchen(lockingMode, ShelfStorage.DEFAULT_CAPACITY);
+    }
+
+    static Kitchen kitchen(Kitchen.LockingMode lockingMode, int shelfCapacity) {
+        return kitchen(lockingMode, HeaterStorage.DEFAULT_CAPACITY, CoolerStorage.DEFAULT_CAPACITY, shelfCapacity);
+    }
+
+    static Kitchen kitchen(Kitchen.LockingMode lockingMode, int heaterCapacity, int coolerCapacity, int shelfCapacity) {
+        return Kitchen.builder()
+                .heater(new HeaterStorage(heaterCapacity))
+                .cooler(new CoolerStorage(coolerCapacity))
+                .shelf(new ShelfStorage(shelfCapacity))
+                .discardStrategy(new FreshnessDiscardStrategy())
+                .lockingMode(lockingMode)
+                .actionSink(new RingBufferActionSink(ACTION_RETENTION))
+                .discardedOrders(new TimeWindowedDiscardedOrderRegistry(Duration.ofSeconds(1)))
+                .build();
+    }
+}
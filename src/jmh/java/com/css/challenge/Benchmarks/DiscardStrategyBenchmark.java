@@ -0,0 +1,71 @@
+package com.css.challenge.Benchmarks;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import com.css.challenge.Storage.StorageRepository;
+import com.css.challenge.Strategies.FreshnessDiscardStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for FreshnessDiscardStrategy.selectDiscardCandidate.
+ * SHELF exercises the expiry index (O(1) peek); HEATER has no index, so the strategy falls back
+ * to scanning every order. Selection is read-only, so all threads share one storage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscardStrategyBenchmark {
+
+    public enum StorageKind {
+        SHELF,
+        HEATER
+    }
+
+    @State(Scope.Benchmark)
+    public static class StrategyState {
+
+        @Param({"12", "128", "1024"})
+        public int size;
+
+        @Param({"SHELF", "HEATER"})
+        public StorageKind storageKind;
+
+        StorageRepository storage;
+        FreshnessDiscardStrategy strategy;
+        Instant now;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            now = Instant.now();
+            strategy = new FreshnessDiscardStrategy();
+            storage = storageKind == StorageKind.SHELF ? new ShelfStorage(size) : new HeaterStorage(size);
+            Temperature temperature = storageKind == StorageKind.SHELF ? Temperature.ROOM : Temperature.HOT;
+            for (int i = 0; i < size; i++) {
+                KitchenOrder order = BenchmarkOrders.order("order-" + i, temperature);
+                // Spread creation times so the least fresh order is not simply the first inserted
+                order.setCreatedAt(now.plusMillis((i * 7919L) % size));
+                storage.add(order, now);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<KitchenOrder> selectDiscardCandidate(StrategyState state) {
+        return state.strategy.selectDiscardCandidate(state.storage, state.now);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<KitchenOrder> selectDiscardCandidate4(StrategyState state) {
+        return state.strategy.selectDiscardCandidate(state.storage, state.now);
+    }
+}
@@ -0,0 +1,290 @@
+package com.css.challenge.Benchmarks;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Location;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Kitchen;
+import com.css.challenge.Storage.CoolerStorage;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Kitchen.placeOrder and Kitchen.pickupOrder.
+ *
+ * placeOrder is measured against three shelf states, always placing a hot order into a full heater:
+ *   - EMPTY: the order lands on an empty shelf
+ *   - FULL: the shelf is full of cold orders and the cooler has room, so one is moved out first
+ *   - OVERFLOWING: heater, cooler and shelf are all full, so a shelf order is discarded first
+ * Each placement changes the kitchen, so placements, bursts and pickup hits run in single-shot
+ * batches against a pool of kitchens built before each iteration (see BenchmarkOrders).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KitchenBenchmark {
+
+    public enum ShelfState {
+        EMPTY,
+        FULL,
+        OVERFLOWING
+    }
+
+    /**
+     * One kitchen per call in the batch, each in the chosen shelf state with its own order to place
+     */
+    @State(Scope.Thread)
+    public static class PlaceState {
+
+        @Param({"EMPTY", "FULL", "OVERFLOWING"})
+        public ShelfState shelf;
+
+        @Param({"GLOBAL", "PER_LOCATION"})
+        public Kitchen.LockingMode lockingMode;
+
+        Kitchen[] kitchens;
+        KitchenOrder[] orders;
+        Instant now;
+        int cursor;
+
+        @Setup(Level.Iteration)
+        public void setUp(IterationParams params) {
+            now = Instant.now();
+            int size = params.getBatchSize();
+            kitchens = new Kitchen[size];
+            orders = new KitchenOrder[size];
+            for (int k = 0; k < size; k++) {
+                Kitchen kitchen = BenchmarkOrders.kitchen(lockingMode);
+                fill(kitchen, Temperature.HOT, Location.HEATER, HeaterStorage.DEFAULT_CAPACITY);
+                if (shelf == ShelfState.FULL) {
+                    fill(kitchen, Temperature.COLD, Location.SHELF, ShelfStorage.DEFAULT_CAPACITY);
+                } else if (shelf == ShelfState.OVERFLOWING) {
+                    fill(kitchen, Temperature.COLD, Location.COOLER, CoolerStorage.DEFAULT_CAPACITY);
+                    fill(kitchen, Temperature.ROOM, Location.SHELF, ShelfStorage.DEFAULT_CAPACITY);
+                }
+                kitchens[k] = kitchen;
+                orders[k] = BenchmarkOrders.order("next", Temperature.HOT);
+            }
+            cursor = 0;
+        }
+
+        /**
+         * Restore orders straight into a location, so the placement rules cannot rebalance them
+         */
+        private void fill(Kitchen kitchen, Temperature temperature, Location location, int count) {
+            for (int i = 0; i < count; i++) {
+                kitchen.restoreOrder(BenchmarkOrders.order(temperature + "-" + i, temperature), location, now);
+            }
+        }
+    }
+
+    /**
+     * A kitchen holding a few orders of each temperature plus one hot pickup target per call in
+     * the batch. Storages are sized to hold every target, and their lookups do not depend on size.
+     */
+    @State(Scope.Thread)
+    public static class PickupState {
+
+        @Param({"GLOBAL", "PER_LOCATION"})
+        public Kitchen.LockingMode lockingMode;
+
+        Kitchen kitchen;
+        Instant now;
+        String[] targets;
+        int cursor;
+
+        @Setup(Level.Iteration)
+        public void setUp(IterationParams params) {
+            now = Instant.now();
+            int size = params.getBatchSize();
+            kitchen = BenchmarkOrders.kitchen(lockingMode, size + 3, size + 3, size + 3);
+            placeMix(kitchen, now);
+            targets = new String[size];
+            for (int i = 0; i < size; i++) {
+                targets[i] = "target-" + i;
+                kitchen.placeOrder(BenchmarkOrders.order(targets[i], Temperature.HOT), now);
+            }
+            cursor = 0;
+        }
+    }
+
+    /**
+     * A kitchen holding a few orders of each temperature, none of which is ever asked for
+     */
+    @State(Scope.Thread)
+    public static class MissState {
+
+        @Param({"GLOBAL", "PER_LOCATION"})
+        public Kitchen.LockingMode lockingMode;
+
+        Kitchen kitchen;
+        Instant now;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            now = Instant.now();
+            kitchen = BenchmarkOrders.kitchen(lockingMode);
+            placeMix(kitchen, now);
+        }
+    }
+
+    /**
+     * A burst of mixed-temperature orders arriving at one instant on an empty kitchen,
+     * big enough to overflow the shelf. One kitchen and burst per call in the batch.
+     */
+    @State(Scope.Thread)
+    public static class BurstState {
+        private static final Temperature[] TEMPERATURES = {Temperature.HOT, Temperature.COLD, Temperature.ROOM};
+
+        @Param({"8", "32", "128"})
+        public int burstSize;
+
+        @Param({"GLOBAL", "PER_LOCATION"})
+        public Kitchen.LockingMode lockingMode;
+
+        Kitchen[] kitchens;
+        List<List<KitchenOrder>> bursts;
+        Instant now;
+        int cursor;
+
+        @Setup(Level.Iteration)
+        public void setUp(IterationParams params) {
+            now = Instant.now();
+            int size = params.getBatchSize();
+            kitchens = new Kitchen[size];
+            bursts = new ArrayList<>(size);
+            for (int k = 0; k < size; k++) {
+                kitchens[k] = BenchmarkOrders.kitchen(lockingMode);
+                List<KitchenOrder> burst = new ArrayList<>(burstSize);
+                for (int i = 0; i < burstSize; i++) {
+                    burst.add(BenchmarkOrders.order("burst-" + i, TEMPERATURES[i % TEMPERATURES.length]));
+                }
+                bursts.add(burst);
+            }
+            cursor = 0;
+        }
+    }
+
+    private static void placeMix(Kitchen kitchen, Instant now) {
+        for (int i = 0; i < 3; i++) {
+            kitchen.placeOrder(BenchmarkOrders.order("hot-" + i, Temperature.HOT), now);
+            kitchen.placeOrder(BenchmarkOrders.order("cold-" + i, Temperature.COLD), now);
+            kitchen.placeOrder(BenchmarkOrders.order("room-" + i, Temperature.ROOM), now);
+        }
+    }
+
+    /**
+     * One kitchen shared by every benchmark thread. Each thread cycles its own order ids.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedKitchen {
+
+        @Param({"GLOBAL", "PER_LOCATION"})
+        public Kitchen.LockingMode lockingMode;
+
+        Kitchen kitchen;
+        Instant now;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            now = Instant.now();
+            kitchen = BenchmarkOrders.kitchen(lockingMode);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadOrders {
+        private static final Temperature[] TEMPERATURES = {Temperature.HOT, Temperature.COLD, Temperature.ROOM};
+
+        Temperature temperature;
+        String prefix;
+        long sequence;
+
+        @Setup
+        public void setUp(ThreadParams params) {
+            temperature = TEMPERATURES[params.getThreadIndex() % TEMPERATURES.length];
+            prefix = "t" + params.getThreadIndex() + "-";
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = BenchmarkOrders.BATCH_WARMUP_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @Measurement(iterations = BenchmarkOrders.BATCH_MEASUREMENT_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @OperationsPerInvocation(BenchmarkOrders.BATCH)
+    public Kitchen placeOrder(PlaceState state) {
+        int k = state.cursor++;
+        state.kitchens[k].placeOrder(state.orders[k], state.now);
+        return state.kitchens[k];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = BenchmarkOrders.BATCH_WARMUP_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @Measurement(iterations = BenchmarkOrders.BATCH_MEASUREMENT_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @OperationsPerInvocation(BenchmarkOrders.BATCH)
+    public Kitchen placeOrdersBatch(BurstState state) {
+        int k = state.cursor++;
+        state.kitchens[k].placeOrders(state.bursts.get(k), state.now);
+        return state.kitchens[k];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = BenchmarkOrders.BATCH_WARMUP_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @Measurement(iterations = BenchmarkOrders.BATCH_MEASUREMENT_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @OperationsPerInvocation(BenchmarkOrders.BATCH)
+    public Kitchen placeOrdersSequential(BurstState state) {
+        int k = state.cursor++;
+        for (KitchenOrder order : state.bursts.get(k)) {
+            state.kitchens[k].placeOrder(order, state.now);
+        }
+        return state.kitchens[k];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = BenchmarkOrders.BATCH_WARMUP_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @Measurement(iterations = BenchmarkOrders.BATCH_MEASUREMENT_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+    @OperationsPerInvocation(BenchmarkOrders.BATCH)
+    public Optional<KitchenOrder> pickupOrderHit(PickupState state) {
+        return state.kitchen.pickupOrder(state.targets[state.cursor++], state.now);
+    }
+
+    @Benchmark
+    public Optional<KitchenOrder> pickupOrderMiss(MissState state) {
+        return state.kitchen.pickupOrder("missing", state.now);
+    }
+
+    /**
+     * Place then pick up on a shared kitchen; run with -t to change the thread count
+     */
+    @Benchmark
+    @Threads(1)
+    public void placeAndPickupShared(SharedKitchen shared, ThreadOrders orders, Blackhole bh) {
+        placeAndPickup(shared, orders, bh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void placeAndPickupShared4(SharedKitchen shared, ThreadOrders orders, Blackhole bh) {
+        placeAndPickup(shared, orders, bh);
+    }
+
+    private static void placeAndPickup(SharedKitchen shared, ThreadOrders orders, Blackhole bh) {
+        String id = orders.prefix + orders.sequence++;
+        shared.kitchen.placeOrder(BenchmarkOrders.order(id, orders.temperature), shared.now);
+        bh.consume(shared.kitchen.pickupOrder(id, shared.now));
+    }
+}
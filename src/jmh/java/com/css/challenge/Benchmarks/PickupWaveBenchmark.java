@@ -0,0 +1,75 @@
+package com.css.challenge.Benchmarks;
+
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Kitchen;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.IterationParams;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A wave of couriers arriving at once: Kitchen.pickupOrders against the same ids picked up one
+ * pickupOrder call at a time. Each call starts from its own kitchen holding exactly the wave,
+ * spread evenly over heater, cooler and shelf; the kitchens are built before each single-shot
+ * iteration (see BenchmarkOrders).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = BenchmarkOrders.BATCH_WARMUP_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+@Measurement(iterations = BenchmarkOrders.BATCH_MEASUREMENT_ITERATIONS, batchSize = BenchmarkOrders.BATCH)
+@OperationsPerInvocation(BenchmarkOrders.BATCH)
+@Fork(1)
+public class PickupWaveBenchmark {
+
+    private static final Temperature[] TEMPERATURES = {Temperature.HOT, Temperature.COLD, Temperature.ROOM};
+
+    @State(Scope.Thread)
+    public static class WaveState {
+
+        @Param({"8", "32", "128"})
+        public int waveSize;
+
+        @Param({"GLOBAL", "PER_LOCATION"})
+        public Kitchen.LockingMode lockingMode;
+
+        Kitchen[] kitchens;
+        List<String> wave;
+        Instant now;
+        int cursor;
+
+        @Setup(Level.Iteration)
+        public void setUp(IterationParams params) {
+            now = Instant.now();
+            wave = new ArrayList<>(waveSize);
+            for (int i = 0; i < waveSize; i++) {
+                wave.add("wave-" + i);
+            }
+            kitchens = new Kitchen[params.getBatchSize()];
+            for (int k = 0; k < kitchens.length; k++) {
+                Kitchen kitchen = BenchmarkOrders.kitchen(lockingMode, waveSize, waveSize, waveSize);
+                for (int i = 0; i < waveSize; i++) {
+                    kitchen.placeOrder(BenchmarkOrders.order(wave.get(i), TEMPERATURES[i % TEMPERATURES.length]), now);
+                }
+                kitchens[k] = kitchen;
+            }
+            cursor = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Kitchen.PickupResult> pickupWave(WaveState state) {
+        return state.kitchens[state.cursor++].pickupOrders(state.wave, state.now);
+    }
+
+    @Benchmark
+    public void pickupOneByOne(WaveState state, Blackhole bh) {
+        Kitchen kitchen = state.kitchens[state.cursor++];
+        for (String id : state.wave) {
+            bh.consume(kitchen.pickupOrder(id, state.now));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.css.challenge.Benchmarks;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the storage repositories at several capacities.
+ * Storages are filled to one below capacity so add/remove pairs never hit the full check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageBenchmark {
+
+    @State(Scope.Thread)
+    public static class ShelfState {
+
+        @Param({"12", "64", "256"})
+        public int capacity;
+
+        ShelfStorage shelf;
+        KitchenOrder extra;
+        Instant now;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            now = Instant.now();
+            shelf = new ShelfStorage(capacity);
+            Temperature[] temperatures = Temperature.values();
+            for (int i = 0; i < capacity - 1; i++) {
+                KitchenOrder order = BenchmarkOrders.order("shelf-" + i, temperatures[i % temperatures.length]);
+                order.setCreatedAt(now.plusMillis(i));
+                shelf.add(order, now);
+            }
+            extra = BenchmarkOrders.order("extra", Temperature.ROOM);
+            extra.setCreatedAt(now.plusMillis(capacity / 2));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class HeaterState {
+
+        @Param({"6", "64", "256"})
+        public int capacity;
+
+        HeaterStorage heater;
+        String hitId;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            Instant now = Instant.now();
+            heater = new HeaterStorage(capacity);
+            for (int i = 0; i < capacity; i++) {
+                heater.add(BenchmarkOrders.order("hot-" + i, Temperature.HOT), now);
+            }
+            hitId = "hot-" + (capacity / 2);
+        }
+    }
+
+    /**
+     * Add an order mid-way through the expiry order and remove it again
+     */
+    @Benchmark
+    public boolean shelfAddRemove(ShelfState state) {
+        state.shelf.add(state.extra, state.now);
+        return state.shelf.remove(state.extra.getId());
+    }
+
+    @Benchmark
+    public Optional<KitchenOrder> heaterFindByIdHit(HeaterState state) {
+        return state.heater.findById(state.hitId);
+    }
+
+    @Benchmark
+    public Optional<KitchenOrder> heaterFindByIdMiss(HeaterState state) {
+        return state.heater.findById("missing");
+    }
+}
@@ -0,0 +1,106 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader over a journal written by MappedActionJournal.
+ * The id dictionary is decoded once up front; records are then visited straight out of the mapped
+ * file as primitives, with the action and target handed over as ActionType and Location constants,
+ * so a replay allocates nothing per record.
+ */
+public class ActionJournalReader implements AutoCloseable {
+
+    /**
+     * Callback for each journal record, in append order
+     */
+    public interface RecordVisitor {
+        void visit(long sequence, long timestampMicros, int idRef, ActionType action, Location target);
+    }
+
+    private final FileChannel recordChannel;
+    private final JournalFormat.Segments records;
+    private final long recordCount;
+    private final String[] ids;
+
+    public ActionJournalReader(Path base) throws IOException {
+        this.recordChannel = FileChannel.open(JournalFormat.actionsFile(base), StandardOpenOption.READ);
+        int segmentSize = JournalFormat.readSegmentSize(recordChannel);
+        if (segmentSize == 0) {
+            recordChannel.close();
+            throw new IOException("Not an action journal: " + JournalFormat.actionsFile(base));
+        }
+        this.records = new JournalFormat.Segments(recordChannel, FileChannel.MapMode.READ_ONLY, segmentSize);
+
+        MappedByteBuffer header = records.segment(0);
+        this.recordCount = header.getLong(JournalFormat.RECORD_COUNT_OFFSET);
+        this.ids = readIds(JournalFormat.idsFile(base), (int) header.getLong(JournalFormat.ID_COUNT_OFFSET), segmentSize);
+    }
+
+    private static String[] readIds(Path idsFile, int idCount, int segmentSize) throws IOException {
+        String[] ids = new String[idCount];
+        try (FileChannel channel = FileChannel.open(idsFile, StandardOpenOption.READ)) {
+            JournalFormat.Segments segments = new JournalFormat.Segments(channel, FileChannel.MapMode.READ_ONLY, segmentSize);
+            long position = 0;
+            for (int ref = 0; ref < idCount; ) {
+                MappedByteBuffer segment = segments.segmentAt(position);
+                int offset = segments.offsetOf(position);
+                if (JournalFormat.idSkipsAt(segment, offset, segmentSize)) {
+                    position += segmentSize - offset;
+                    continue;
+                }
+                short length = segment.getShort(offset);
+                byte[] bytes = new byte[length];
+                segment.get(offset + Short.BYTES, bytes);
+                ids[ref++] = new String(bytes, StandardCharsets.UTF_8);
+                position += Short.BYTES + length;
+            }
+        }
+        return ids;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public int getIdCount() {
+        return ids.length;
+    }
+
+    public String id(int ref) {
+        return ids[ref];
+    }
+
+    /**
+     * Visit every record in append order
+     */
+    public void forEach(RecordVisitor visitor) throws IOException {
+        int segmentIndex = -1;
+        MappedByteBuffer segment = null;
+        for (long seq = 0; seq < recordCount; seq++) {
+            long position = JournalFormat.HEADER_SIZE + seq * JournalFormat.RECORD_SIZE;
+            int index = (int) (position / records.segmentSize());
+            if (index != segmentIndex) {
+                segment = records.segment(index);
+                segmentIndex = index;
+            }
+            int offset = records.offsetOf(position);
+            visitor.visit(seq,
+                    segment.getLong(offset),
+                    segment.getInt(offset + 8),
+                    JournalFormat.decodeAction(segment.get(offset + 12)),
+                    JournalFormat.decodeTarget(segment.get(offset + 13)));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        recordChannel.close();
+    }
+}
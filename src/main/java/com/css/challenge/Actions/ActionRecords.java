@@ -0,0 +1,82 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+import com.css.challenge.client.Action;
+
+/**
+ * Compact action encoding shared by the in-memory sinks.
+ *
+ * An action is stored as three columns instead of an Action object: timestamp micros (long),
+ * order id (a reference to the order's existing String) and one byte packing the action type and
+ * target location. That is 13 bytes per action on a compressed-oops heap against about 40 for an
+ * Action object and its reference, and appending allocates nothing. The wire Action is only built
+ * when a consumer asks for one, e.g. for submission.
+ */
+final class ActionRecords {
+
+    private static final ActionType[] TYPES = ActionType.values();
+    private static final Location[] LOCATIONS = Location.values();
+    private static final int TARGET_BITS = 2;
+    private static final int TARGET_MASK = (1 << TARGET_BITS) - 1;
+
+    // Records a reader copies out per lock acquisition from a sink whose slots can change under it
+    static final int READ_BATCH = 1024;
+
+    private ActionRecords() {}
+
+    static byte pack(ActionType type, Location target) {
+        return (byte) (type.ordinal() << TARGET_BITS | target.ordinal());
+    }
+
+    static ActionType type(byte packed) {
+        return TYPES[packed >>> TARGET_BITS];
+    }
+
+    static Location target(byte packed) {
+        return LOCATIONS[packed & TARGET_MASK];
+    }
+
+    static ActionType typeOf(int ordinal) {
+        return TYPES[ordinal];
+    }
+
+    static Location locationOf(int ordinal) {
+        return LOCATIONS[ordinal];
+    }
+
+    static Action toWire(long timestampMicros, String orderId, ActionType type, Location target) {
+        return new Action(timestampMicros, orderId, type.getValue(), target.toString());
+    }
+
+    /**
+     * One block of columns, used by the chunked and ring buffer sinks
+     */
+    static final class Columns {
+        final long[] timestamps;
+        final String[] ids;
+        final byte[] codes;
+
+        Columns(int size) {
+            this.timestamps = new long[size];
+            this.ids = new String[size];
+            this.codes = new byte[size];
+        }
+
+        void set(int index, long timestampMicros, String orderId, ActionType type, Location target) {
+            timestamps[index] = timestampMicros;
+            ids[index] = orderId;
+            codes[index] = pack(type, target);
+        }
+
+        void copyTo(int index, Columns target, int targetIndex) {
+            target.timestamps[targetIndex] = timestamps[index];
+            target.ids[targetIndex] = ids[index];
+            target.codes[targetIndex] = codes[index];
+        }
+
+        void visit(int index, long sequence, ActionSink.RecordVisitor visitor) {
+            byte code = codes[index];
+            visitor.visit(sequence, timestamps[index], ids[index], type(code), target(code));
+        }
+    }
+}
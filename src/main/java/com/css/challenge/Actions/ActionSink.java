@@ -0,0 +1,111 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+import com.css.challenge.client.Action;
+import com.css.challenge.client.ActionStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ActionSink is where the kitchen records its actions.
+ * Every appended action gets a sequence number, starting at 0 and increasing by one per append.
+ * Sinks may retain only part of the history; firstRetainedSequence tells where the retained part starts.
+ *
+ * Actions are appended and visited in compact form (micros, order id, ActionType, Location), so
+ * recording allocates nothing; the Consumer&lt;Action&gt; views build wire Actions on the way out.
+ *
+ * Consumers read incrementally with a cursor instead of copying the whole history. Every read
+ * returns the cursor to continue from, derived from the sequence numbers it actually read, so
+ * actions appended or evicted concurrently are never skipped or read twice by the next read:
+ * <pre>
+ *   ActionSink.Batch batch = sink.actionsSince(cursor);
+ *   cursor = batch.nextSequence();
+ * </pre>
+ * Implementations are thread safe. Reads visit the actions appended before the read started and
+ * call the visitor without holding the sink's lock, so a slow reader (e.g. a solution upload) never
+ * blocks the kitchen from recording.
+ */
+public interface ActionSink {
+
+    /**
+     * Callback for each retained action in compact form, oldest first
+     */
+    interface RecordVisitor {
+        void visit(long sequence, long timestampMicros, String orderId, ActionType type, Location target);
+    }
+
+    /**
+     * Actions read from a cursor: the sequence of the first one (later than the cursor if older
+     * actions were no longer retained) and the cursor to pass to the next read
+     */
+    record Batch(long firstSequence, long nextSequence, List<Action> actions) {}
+
+    //record an action and return its sequence number
+    long append(long timestampMicros, String orderId, ActionType type, Location target);
+
+    //record a wire action
+    default long append(Action action) {
+        return append(action.getTimestamp(), action.getId(),
+                ActionType.fromString(action.getAction()), Location.fromString(action.getTarget()));
+    }
+
+    //sequence number the next appended action will get, i.e. the total number appended so far
+    long nextSequence();
+
+    //sequence number of the oldest action still retained
+    long firstRetainedSequence();
+
+    //visit retained actions with a sequence number >= sequence, oldest first, without building Actions;
+    //returns the cursor to read from next: one past the last action visited, or sequence if none was
+    long forEachRecordSince(long sequence, RecordVisitor visitor);
+
+    //visit retained actions with a sequence number >= sequence as wire Actions, oldest first; returns the next cursor
+    default long forEachSince(long sequence, Consumer<Action> consumer) {
+        return forEachRecordSince(sequence, (seq, timestampMicros, orderId, type, target) ->
+                consumer.accept(ActionRecords.toWire(timestampMicros, orderId, type, target)));
+    }
+
+    //stream retained actions with a sequence number >= sequence in wire form without building Actions, e.g. for submission
+    default ActionStream streamSince(long sequence) {
+        return writer -> {
+            try {
+                forEachRecordSince(sequence, (seq, timestampMicros, orderId, type, target) -> {
+                    try {
+                        writer.write(timestampMicros, orderId, type.getValue(), target.toString());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    //retained actions with a sequence number >= sequence, oldest first, with the cursor to read from next
+    default Batch actionsSince(long sequence) {
+        List<Action> actions = new ArrayList<>();
+        long[] first = {-1};
+        long next = forEachRecordSince(sequence, (seq, timestampMicros, orderId, type, target) -> {
+            if (first[0] < 0) {
+                first[0] = seq;
+            }
+            actions.add(ActionRecords.toWire(timestampMicros, orderId, type, target));
+        });
+        return new Batch(first[0] < 0 ? next : first[0], next, actions);
+    }
+
+    //all retained actions, oldest first
+    default List<Action> snapshot() {
+        return actionsSince(firstRetainedSequence()).actions();
+    }
+
+    //number of actions currently retained
+    default int retainedCount() {
+        return (int) (nextSequence() - firstRetainedSequence());
+    }
+}
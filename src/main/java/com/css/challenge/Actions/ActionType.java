@@ -0,0 +1,38 @@
+package com.css.challenge.Actions;
+
+/**
+ * Enum for the kitchen actions: place, move, pickup and discard
+ */
+public enum ActionType {
+    PLACE("place"),
+    MOVE("move"),
+    PICKUP("pickup"),
+    DISCARD("discard");
+
+    private final String value;
+
+    ActionType(String value) {
+        this.value = value;
+    }
+
+    // Wire name, as used by client.Action
+    public String getValue() {
+        return value;
+    }
+
+    //string to Enum
+    public static ActionType fromString(String value) {
+        return switch (value.toLowerCase()) {
+            case "place" -> PLACE;
+            case "move" -> MOVE;
+            case "pickup" -> PICKUP;
+            case "discard" -> DISCARD;
+            default -> throw new IllegalArgumentException("Unknown action " + value);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only ActionSink that keeps the full history in fixed-size columnar chunks (see ActionRecords).
+ * Growing never copies earlier actions the way an ArrayList resize does, and readers only walk
+ * the chunks at or after their cursor.
+ *
+ * The sink is unbounded: it holds every action for as long as it lives, about 13 bytes each plus the
+ * order id strings it keeps reachable. Use RingBufferActionSink or MappedActionJournal when a run is
+ * long enough for that to matter.
+ *
+ * A written slot is never changed again, so a reader takes the chunks and the size under the lock
+ * and walks them without it.
+ */
+public class ChunkedActionSink implements ActionSink {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final int chunkSize;
+    private final List<ActionRecords.Columns> chunks = new ArrayList<>();
+    private long size;
+
+    public ChunkedActionSink() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedActionSink(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public synchronized long append(long timestampMicros, String orderId, ActionType type, Location target) {
+        int offset = (int) (size % chunkSize);
+        if (offset == 0) {
+            chunks.add(new ActionRecords.Columns(chunkSize));
+        }
+        chunks.get(chunks.size() - 1).set(offset, timestampMicros, orderId, type, target);
+        return size++;
+    }
+
+    @Override
+    public synchronized long nextSequence() {
+        return size;
+    }
+
+    @Override
+    public long firstRetainedSequence() {
+        return 0;
+    }
+
+    @Override
+    public long forEachRecordSince(long sequence, RecordVisitor visitor) {
+        long start = Math.max(0, sequence);
+        int firstChunk = (int) (start / chunkSize);
+        long end;
+        ActionRecords.Columns[] visible;
+        synchronized (this) {
+            end = size;
+            if (start >= end) {
+                return start;
+            }
+            visible = chunks.subList(firstChunk, chunks.size()).toArray(new ActionRecords.Columns[0]);
+        }
+        for (long seq = start; seq < end; seq++) {
+            visible[(int) (seq / chunkSize) - firstChunk].visit((int) (seq % chunkSize), seq, visitor);
+        }
+        return end;
+    }
+}
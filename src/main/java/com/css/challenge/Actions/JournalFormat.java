@@ -0,0 +1,159 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary layout shared by MappedActionJournal and ActionJournalReader.
+ *
+ * A journal is two files:
+ * - {base}.actions: a 64 byte header (magic, version, record count, id count, id bytes, segment size)
+ *   followed by fixed 16 byte records: timestamp micros (long), id reference (int), action code (byte),
+ *   target code (byte), 2 pad bytes.
+ *   The codes are the ActionType and Location ordinals.
+ * - {base}.ids: the id dictionary, one entry per distinct id in reference order: length (short) + UTF-8 bytes.
+ *   An entry never straddles a mapped segment; a length of -1 means "continue at the next segment",
+ *   and so does a single byte left at the end of a segment, which is too short for a length.
+ *
+ * Both files are mapped in fixed-size segments, so they grow without remapping what is already written.
+ * Each new segment extends the file by its full size, so the segment size is configurable and is
+ * stored in the header; journals written before it was stored used 16MB segments.
+ */
+final class JournalFormat {
+
+    static final int MAGIC = 0x4B4A524E; // "KJRN"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int RECORD_COUNT_OFFSET = 8;
+    static final int ID_COUNT_OFFSET = 16;
+    static final int ID_BYTES_OFFSET = 24;
+    static final int SEGMENT_SIZE_OFFSET = 32;
+
+    static final int RECORD_SIZE = 16;
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+    static final int MIN_SEGMENT_SIZE = 4096;
+    private static final int UNRECORDED_SEGMENT_SIZE = 1 << 24;
+
+    static final short ID_SEGMENT_SKIP = -1;
+
+    private JournalFormat() {}
+
+    /**
+     * Segment sizes must hold the header and be a multiple of RECORD_SIZE, so records never straddle segments
+     */
+    static int checkSegmentSize(int segmentSize) {
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Journal segment size must be a multiple of %d and at least %d bytes: %d",
+                    RECORD_SIZE, MIN_SEGMENT_SIZE, segmentSize));
+        }
+        return segmentSize;
+    }
+
+    /**
+     * The segment size recorded in an existing journal's header, or 0 if the file has no header yet
+     */
+    static int readSegmentSize(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return 0;
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(MAGIC_OFFSET) != MAGIC) {
+            return 0;
+        }
+        int recorded = header.getInt(SEGMENT_SIZE_OFFSET);
+        return recorded == 0 ? UNRECORDED_SEGMENT_SIZE : recorded;
+    }
+
+    /**
+     * Whether the id dictionary continues at the next segment rather than at this offset
+     */
+    static boolean idSkipsAt(MappedByteBuffer segment, int offset, int segmentSize) {
+        return segmentSize - offset < Short.BYTES || segment.getShort(offset) == ID_SEGMENT_SKIP;
+    }
+
+    static Path actionsFile(Path base) {
+        return base.resolveSibling(base.getFileName() + ".actions");
+    }
+
+    static Path idsFile(Path base) {
+        return base.resolveSibling(base.getFileName() + ".ids");
+    }
+
+    static byte encodeAction(ActionType action) {
+        return (byte) action.ordinal();
+    }
+
+    static ActionType decodeAction(byte code) {
+        return ActionRecords.typeOf(code);
+    }
+
+    static byte encodeTarget(Location target) {
+        return (byte) target.ordinal();
+    }
+
+    static Location decodeTarget(byte code) {
+        return ActionRecords.locationOf(code);
+    }
+
+    /**
+     * A file mapped lazily in segmentSize pieces
+     */
+    static final class Segments {
+        private final FileChannel channel;
+        private final FileChannel.MapMode mode;
+        private final int segmentSize;
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+        Segments(FileChannel channel, FileChannel.MapMode mode, int segmentSize) {
+            this.channel = channel;
+            this.mode = mode;
+            this.segmentSize = segmentSize;
+        }
+
+        int segmentSize() {
+            return segmentSize;
+        }
+
+        /**
+         * The segment holding the byte at the given file position
+         */
+        MappedByteBuffer segmentAt(long position) throws IOException {
+            return segment((int) (position / segmentSize));
+        }
+
+        /**
+         * Offset of the given file position within its segment
+         */
+        int offsetOf(long position) {
+            return (int) (position % segmentSize);
+        }
+
+        MappedByteBuffer segment(int index) throws IOException {
+            while (segments.size() <= index) {
+                long position = (long) segments.size() * segmentSize;
+                long length = segmentSize;
+                if (mode == FileChannel.MapMode.READ_ONLY) {
+                    length = Math.min(segmentSize, channel.size() - position);
+                }
+                segments.add(channel.map(mode, position, length));
+            }
+            return segments.get(index);
+        }
+
+        void force() {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.DiscardReason;
+import com.css.challenge.Business.FreshnessDecayModel;
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Location;
+import com.css.challenge.Kitchen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Rebuilds a Kitchen's heater, cooler and shelf contents from an action journal after a restart.
+ *
+ * One pass over the journal folds every order's actions into its final state, kept in primitive
+ * arrays indexed by the journal's id reference: where it is stored (place/move) or that it left
+ * (pickup/discard), plus when it got there. Each place and move is also replayed into the order's
+ * decay through KitchenOrder.relocate at its journal timestamp, so an order that sat on the shelf
+ * before moving keeps the freshness it lost there. Orders still stored are then restored into the
+ * kitchen without recording new actions, and discarded ids are restored with the reason they were
+ * discarded (expired or overflow) so late pickups still see them.
+ */
+public class JournalRecovery {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalRecovery.class);
+
+    private static final byte UNSEEN = -1;
+    private static final byte PICKED_UP = 3;
+    private static final byte DISCARDED = 4;
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    /**
+     * Summary of a replay
+     */
+    public record Result(long records, int restoredOrders, int discardedOrders, int missingOrders, long lastTimestampMicros) {}
+
+    private JournalRecovery() {}
+
+    /**
+     * Replay the journal into an empty kitchen.
+     *
+     * @param reader     the journal to replay
+     * @param ordersById the order definitions (temperature, freshness) by id, e.g. from the problem
+     * @param kitchen    the kitchen to restore into
+     */
+    public static Result replay(ActionJournalReader reader, Map<String, KitchenOrder> ordersById, Kitchen kitchen)
+            throws IOException {
+        int idCount = reader.getIdCount();
+        byte[] states = new byte[idCount];
+        long[] storedMicros = new long[idCount];
+        long[] discardedMicros = new long[idCount];
+        DiscardReason[] discardReasons = new DiscardReason[idCount];
+        Arrays.fill(states, UNSEEN);
+        KitchenOrder[] orders = new KitchenOrder[idCount];
+        for (int ref = 0; ref < idCount; ref++) {
+            orders[ref] = ordersById.get(reader.id(ref));
+        }
+        FreshnessDecayModel decayModel = kitchen.getDecayModel();
+        long[] lastMicros = {Long.MIN_VALUE};
+
+        reader.forEach((sequence, timestampMicros, idRef, action, target) -> {
+            KitchenOrder order = orders[idRef];
+            lastMicros[0] = timestampMicros;
+            switch (action) {
+                case PLACE -> {
+                    states[idRef] = (byte) target.ordinal();
+                    storedMicros[idRef] = timestampMicros;
+                    if (order != null) {
+                        order.setCreatedAt(instant(timestampMicros));
+                        order.relocate(timestampMicros * NANOS_PER_MICRO, decayModel.rate(order.getTemperature(), target));
+                    }
+                }
+                case MOVE -> {
+                    states[idRef] = (byte) target.ordinal();
+                    storedMicros[idRef] = timestampMicros;
+                    if (order != null && order.getCreatedAt() != null) {
+                        order.relocate(timestampMicros * NANOS_PER_MICRO, decayModel.rate(order.getTemperature(), target));
+                    }
+                }
+                case PICKUP -> states[idRef] = PICKED_UP;
+                case DISCARD -> {
+                    states[idRef] = DISCARDED;
+                    discardedMicros[idRef] = timestampMicros;
+                    // Replayed decay tells an expired discard from an overflow one; without the order, assume expired.
+                    // The kitchen discarded somewhere within this microsecond, so test against its end
+                    boolean fresh = order != null && order.getCreatedAt() != null
+                            && !order.hasExpired((timestampMicros + 1) * NANOS_PER_MICRO - 1);
+                    discardReasons[idRef] = fresh ? DiscardReason.OVERFLOW : DiscardReason.EXPIRED;
+                }
+            }
+        });
+
+        Location[] locations = Location.values();
+        int restored = 0;
+        int discarded = 0;
+        int missing = 0;
+        for (int ref = 0; ref < idCount; ref++) {
+            byte state = states[ref];
+            String id = reader.id(ref);
+            if (state == DISCARDED) {
+                kitchen.restoreDiscarded(id, discardReasons[ref], instant(discardedMicros[ref]));
+                discarded++;
+            } else if (state >= 0 && state < locations.length) {
+                KitchenOrder order = orders[ref];
+                if (order == null || order.getCreatedAt() == null) {
+                    LOGGER.warn("JournalRecovery: no order definition for stored id {}", id);
+                    missing++;
+                    continue;
+                }
+                kitchen.restoreReplayedOrder(order, locations[state], instant(storedMicros[ref]));
+                restored++;
+            }
+        }
+
+        LOGGER.info("JournalRecovery: replayed {} records, restored {} orders, {} discarded, {} missing",
+                reader.getRecordCount(), restored, discarded, missing);
+        return new Result(reader.getRecordCount(), restored, discarded, missing, lastMicros[0]);
+    }
+
+    private static Instant instant(long epochMicros) {
+        return Instant.EPOCH.plus(epochMicros, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,215 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Durable ActionSink that appends fixed-layout binary records to a memory-mapped file (see JournalFormat).
+ * Order ids are interned into a side dictionary so each record stores a 4 byte reference; action and
+ * target are stored as one byte codes. An append is a hash lookup plus a few stores into mapped memory,
+ * with no JSON encoding and no system call. The OS writes the pages back; call flush to force them to disk.
+ *
+ * Both files grow a segment at a time (DEFAULT_SEGMENT_SIZE unless configured), so a small run
+ * does not reserve more disk than it needs. Opening an existing journal continues appending after its
+ * last record, in the segment size it was created with. Readers decode records in small batches under
+ * the lock and visit each batch without it.
+ */
+public class MappedActionJournal implements ActionSink, AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = JournalFormat.DEFAULT_SEGMENT_SIZE;
+
+    private final FileChannel recordChannel;
+    private final FileChannel idChannel;
+    private final JournalFormat.Segments records;
+    private final JournalFormat.Segments ids;
+    private final MappedByteBuffer header;
+
+    private final Map<String, Integer> idRefs = new HashMap<>();
+    private String[] idsByRef = new String[1024];
+    private long recordCount;
+    private long idBytes;
+
+    public MappedActionJournal(Path base) throws IOException {
+        this(base, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize bytes each file grows by, a multiple of 16 and at least 4096; ignored when
+     *                    the journal already exists
+     */
+    public MappedActionJournal(Path base, int segmentSize) throws IOException {
+        JournalFormat.checkSegmentSize(segmentSize);
+        this.recordChannel = FileChannel.open(JournalFormat.actionsFile(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.idChannel = FileChannel.open(JournalFormat.idsFile(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int existingSegmentSize = JournalFormat.readSegmentSize(recordChannel);
+        if (existingSegmentSize != 0) {
+            segmentSize = existingSegmentSize;
+        }
+        this.records = new JournalFormat.Segments(recordChannel, FileChannel.MapMode.READ_WRITE, segmentSize);
+        this.ids = new JournalFormat.Segments(idChannel, FileChannel.MapMode.READ_WRITE, segmentSize);
+        this.header = records.segment(0);
+
+        if (header.getInt(JournalFormat.MAGIC_OFFSET) == 0) {
+            header.putInt(JournalFormat.MAGIC_OFFSET, JournalFormat.MAGIC);
+            header.putInt(JournalFormat.VERSION_OFFSET, JournalFormat.VERSION);
+            header.putInt(JournalFormat.SEGMENT_SIZE_OFFSET, segmentSize);
+        } else if (header.getInt(JournalFormat.MAGIC_OFFSET) != JournalFormat.MAGIC) {
+            throw new IOException("Not an action journal: " + JournalFormat.actionsFile(base));
+        } else {
+            loadExisting();
+        }
+    }
+
+    /**
+     * Rebuild the in-memory id dictionary of an existing journal so appends continue after it
+     */
+    private void loadExisting() throws IOException {
+        recordCount = header.getLong(JournalFormat.RECORD_COUNT_OFFSET);
+        long idCount = header.getLong(JournalFormat.ID_COUNT_OFFSET);
+        idBytes = header.getLong(JournalFormat.ID_BYTES_OFFSET);
+        long position = 0;
+        for (int ref = 0; ref < idCount; ) {
+            MappedByteBuffer segment = ids.segmentAt(position);
+            int offset = ids.offsetOf(position);
+            if (JournalFormat.idSkipsAt(segment, offset, ids.segmentSize())) {
+                position += ids.segmentSize() - offset;
+                continue;
+            }
+            short length = segment.getShort(offset);
+            byte[] bytes = new byte[length];
+            segment.get(offset + Short.BYTES, bytes);
+            remember(new String(bytes, StandardCharsets.UTF_8), ref++);
+            position += Short.BYTES + length;
+        }
+    }
+
+    @Override
+    public synchronized long append(long timestampMicros, String orderId, ActionType type, Location target) {
+        try {
+            int ref = intern(orderId);
+            long position = JournalFormat.HEADER_SIZE + recordCount * JournalFormat.RECORD_SIZE;
+            MappedByteBuffer segment = records.segmentAt(position);
+            int offset = records.offsetOf(position);
+            segment.putLong(offset, timestampMicros);
+            segment.putInt(offset + 8, ref);
+            segment.put(offset + 12, JournalFormat.encodeAction(type));
+            segment.put(offset + 13, JournalFormat.encodeTarget(target));
+            // Publish the record only after it is fully written
+            header.putLong(JournalFormat.RECORD_COUNT_OFFSET, recordCount + 1);
+            return recordCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Action journal append failed", e);
+        }
+    }
+
+    private int intern(String id) throws IOException {
+        Integer existing = idRefs.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        int needed = Short.BYTES + bytes.length;
+        if (bytes.length > Short.MAX_VALUE || needed > ids.segmentSize()) {
+            throw new IllegalArgumentException("Order id too long for the journal: " + bytes.length + " bytes");
+        }
+        int offset = ids.offsetOf(idBytes);
+        if (offset + needed > ids.segmentSize()) {
+            // A lone last byte cannot hold the marker; readers skip it anyway
+            if (ids.segmentSize() - offset >= Short.BYTES) {
+                ids.segmentAt(idBytes).putShort(offset, JournalFormat.ID_SEGMENT_SKIP);
+            }
+            idBytes += ids.segmentSize() - offset;
+            offset = 0;
+        }
+        MappedByteBuffer segment = ids.segmentAt(idBytes);
+        segment.putShort(offset, (short) bytes.length);
+        segment.put(offset + Short.BYTES, bytes);
+        idBytes += needed;
+
+        int ref = idRefs.size();
+        remember(id, ref);
+        header.putLong(JournalFormat.ID_BYTES_OFFSET, idBytes);
+        header.putLong(JournalFormat.ID_COUNT_OFFSET, ref + 1);
+        return ref;
+    }
+
+    private void remember(String id, int ref) {
+        if (ref == idsByRef.length) {
+            idsByRef = Arrays.copyOf(idsByRef, ref * 2);
+        }
+        idsByRef[ref] = id;
+        idRefs.put(id, ref);
+    }
+
+    @Override
+    public synchronized long nextSequence() {
+        return recordCount;
+    }
+
+    @Override
+    public long firstRetainedSequence() {
+        return 0;
+    }
+
+    @Override
+    public long forEachRecordSince(long sequence, RecordVisitor visitor) {
+        ActionRecords.Columns batch = new ActionRecords.Columns(ActionRecords.READ_BATCH);
+        long end;
+        synchronized (this) {
+            end = recordCount;
+        }
+        long start = Math.max(0, sequence);
+        for (long first = start; first < end; first += ActionRecords.READ_BATCH) {
+            int count = (int) Math.min(ActionRecords.READ_BATCH, end - first);
+            readBatch(first, count, batch);
+            for (int i = 0; i < count; i++) {
+                batch.visit(i, first + i, visitor);
+            }
+        }
+        return Math.max(start, end);
+    }
+
+    private synchronized void readBatch(long first, int count, ActionRecords.Columns batch) {
+        try {
+            for (int i = 0; i < count; i++) {
+                long position = JournalFormat.HEADER_SIZE + (first + i) * JournalFormat.RECORD_SIZE;
+                MappedByteBuffer segment = records.segmentAt(position);
+                int offset = records.offsetOf(position);
+                batch.set(i,
+                        segment.getLong(offset),
+                        idsByRef[segment.getInt(offset + 8)],
+                        JournalFormat.decodeAction(segment.get(offset + 12)),
+                        JournalFormat.decodeTarget(segment.get(offset + 13)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Action journal read failed", e);
+        }
+    }
+
+    /**
+     * Force mapped pages of both files to the storage device
+     */
+    public synchronized void flush() {
+        records.force();
+        ids.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        recordChannel.close();
+        idChannel.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+
+/**
+ * ActionSink that retains only the most recent actions in a fixed columnar ring buffer.
+ * Memory stays constant however long the kitchen runs; older actions are overwritten and are no
+ * longer returned by reads (firstRetainedSequence moves forward).
+ *
+ * Readers copy the actions out in small batches under the lock and visit each batch without it.
+ * Actions overwritten while a read is in progress are skipped; the sequence numbers visited and
+ * the returned cursor come from the same locked copy, so the next read carries on after them.
+ */
+public class RingBufferActionSink implements ActionSink {
+
+    private final ActionRecords.Columns buffer;
+    private final int retention;
+    private long size;
+
+    public RingBufferActionSink(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Retention must be positive: " + retention);
+        }
+        this.buffer = new ActionRecords.Columns(retention);
+        this.retention = retention;
+    }
+
+    @Override
+    public synchronized long append(long timestampMicros, String orderId, ActionType type, Location target) {
+        buffer.set((int) (size % retention), timestampMicros, orderId, type, target);
+        return size++;
+    }
+
+    @Override
+    public synchronized long nextSequence() {
+        return size;
+    }
+
+    @Override
+    public synchronized long firstRetainedSequence() {
+        return Math.max(0, size - retention);
+    }
+
+    @Override
+    public long forEachRecordSince(long sequence, RecordVisitor visitor) {
+        ActionRecords.Columns batch = new ActionRecords.Columns(Math.min(retention, ActionRecords.READ_BATCH));
+        long end;
+        synchronized (this) {
+            end = size;
+        }
+        long next = sequence;
+        while (true) {
+            long first;
+            int count;
+            synchronized (this) {
+                first = Math.max(firstRetainedSequence(), next);
+                count = (int) Math.min(batch.codes.length, end - first);
+                for (int i = 0; i < count; i++) {
+                    buffer.copyTo((int) ((first + i) % retention), batch, i);
+                }
+            }
+            if (count <= 0) {
+                return next;
+            }
+            for (int i = 0; i < count; i++) {
+                batch.visit(i, first + i, visitor);
+            }
+            next = first + count;
+        }
+    }
+
+    public int getRetention() {
+        return retention;
+    }
+}
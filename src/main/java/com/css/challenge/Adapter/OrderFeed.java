@@ -0,0 +1,132 @@
+package com.css.challenge.Adapter;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.client.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * OrderFeed streams client orders into the kitchen as they arrive.
+ *
+ * A reader thread pulls orders from the source (e.g. an OrderReader parsing the problem
+ * response), converts them with OrderAdapter and puts them on a bounded queue. The harness takes
+ * them off through the Iterator as it places them. When the queue is full the reader blocks, so
+ * a slow simulation applies backpressure to the source instead of the whole feed being buffered;
+ * when it is empty the harness waits for the next order. A failure in the reader is queued behind
+ * the orders read before it and rethrown from hasNext, then again from every later call.
+ *
+ * Single consumer: iterate from one thread only.
+ */
+public class OrderFeed implements Iterator<KitchenOrder>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderFeed.class);
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // A converted order, the end of the feed (both null) or the reader's failure
+    private record Item(KitchenOrder order, Throwable failure) {}
+
+    private static final Item END = new Item(null, null);
+
+    private final Iterator<Order> source;
+    private final BlockingQueue<Item> queue;
+    private final Thread reader;
+    private Item next;
+    private boolean finished;
+    private Throwable failure;
+
+    public OrderFeed(Iterator<Order> source, Clock clock) {
+        this(source, clock, DEFAULT_CAPACITY);
+    }
+
+    public OrderFeed(Iterator<Order> source, Clock clock, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Order feed capacity must be positive: " + capacity);
+        }
+        this.source = source;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.reader = Thread.ofPlatform()
+                .name("order-feed")
+                .daemon(true)
+                .start(() -> read(clock));
+    }
+
+    private void read(Clock clock) {
+        long count = 0;
+        Item last = END;
+        try {
+            while (source.hasNext()) {
+                queue.put(new Item(OrderAdapter.toDomain(source.next(), clock.instant()), null));
+                count++;
+            }
+            LOGGER.debug("Order feed read {} orders", count);
+        } catch (InterruptedException e) {
+            // closed before the source was exhausted
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable e) {
+            last = new Item(null, e);
+        }
+        try {
+            // Orders already queued stay ahead of the end or the failure
+            queue.put(last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (failure != null) {
+            throw new IllegalStateException("Order feed failed", failure);
+        }
+        if (next == null && !finished) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the next order", e);
+            }
+            if (next.failure() != null) {
+                failure = next.failure();
+                finished = true;
+                next = null;
+                throw new IllegalStateException("Order feed failed", failure);
+            }
+            if (next == END) {
+                finished = true;
+                next = null;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public KitchenOrder next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        KitchenOrder order = next.order();
+        next = null;
+        return order;
+    }
+
+    /**
+     * Stop the reader and close the source if it is closeable
+     */
+    @Override
+    public void close() throws IOException {
+        reader.interrupt();
+        if (source instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.css.challenge.Business;
+
+/**
+ * Why the kitchen discarded an order
+ */
+public enum DiscardReason {
+    // the order's freshness ran out while it was stored
+    EXPIRED,
+    // the order was still fresh but was dropped from a full shelf to make room
+    OVERFLOW
+}
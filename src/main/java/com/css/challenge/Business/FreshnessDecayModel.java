@@ -0,0 +1,67 @@
+package com.css.challenge.Business;
+
+/**
+ * FreshnessDecayModel decides how fast an order uses up its freshness in a given location.
+ *
+ * An order in its ideal location (hot in the heater, cold in the cooler, room on the shelf) decays
+ * at rate 1: one second of freshness per second. Anywhere else it decays at the configured
+ * multiplier for that location, e.g. 2 for a hot order waiting on the shelf. The kitchen hands
+ * the rate to KitchenOrder.relocate on every placement and move, so freshness is integrated
+ * incrementally instead of being recomputed from the order's location history.
+ */
+public final class FreshnessDecayModel {
+
+    private static final FreshnessDecayModel UNIFORM = builder().build();
+
+    // Non-ideal multipliers indexed by Location ordinal
+    private final double[] nonIdealMultipliers;
+
+    private FreshnessDecayModel(Builder builder) {
+        this.nonIdealMultipliers = builder.nonIdealMultipliers.clone();
+    }
+
+    /**
+     * Every location decays at rate 1, i.e. freshness only depends on age
+     */
+    public static FreshnessDecayModel uniform() {
+        return UNIFORM;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final double[] nonIdealMultipliers = {1.0, 1.0, 1.0};
+
+        /**
+         * Decay multiplier for orders stored in the location while it is not their ideal location
+         */
+        public Builder nonIdealMultiplier(Location location, double multiplier) {
+            if (!(multiplier > 0) || Double.isInfinite(multiplier)) {
+                throw new IllegalArgumentException("Decay multiplier for " + location + " must be positive: " + multiplier);
+            }
+            nonIdealMultipliers[location.ordinal()] = multiplier;
+            return this;
+        }
+
+        public FreshnessDecayModel build() {
+            return new FreshnessDecayModel(this);
+        }
+    }
+
+    /**
+     * Freshness used per unit of time by an order of the temperature stored in the location
+     */
+    public double rate(Temperature temperature, Location location) {
+        return isIdeal(temperature, location) ? 1.0 : nonIdealMultipliers[location.ordinal()];
+    }
+
+    public static boolean isIdeal(Temperature temperature, Location location) {
+        return switch (location) {
+            case HEATER -> temperature == Temperature.HOT;
+            case COOLER -> temperature == Temperature.COLD;
+            case SHELF -> temperature == Temperature.ROOM;
+        };
+    }
+}
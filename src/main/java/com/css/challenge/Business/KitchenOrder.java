@@ -4,15 +4,33 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
 
+/**
+ * Domain order. Creation time and expiry deadline are also kept as primitive epoch nanos, computed
+ * once when the creation time is set, so the long overloads of the freshness checks never allocate.
+ *
+ * Freshness decays at a rate that depends on where the order is (see FreshnessDecayModel). On each
+ * relocate the freshness used so far is banked and the projected expiry deadline is recomputed, so
+ * the deadline is always available in O(1). With the default rate of 1 everywhere the deadline is
+ * simply createdAt + freshness.
+ */
 public class KitchenOrder {
 
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
     private final String id;
     private final String name;
     private final Temperature temperature;
     private final BigDecimal price;
     private final Duration freshnessDuration;
+    private final long freshnessNanos;
     private Instant createdAt;
-    private Location currentLocation;
+    private long createdAtEpochNanos;
+    private long expiryEpochNanos;
+    // Decay state: freshness used before the current segment, and the current segment's start and rate
+    private double consumedNanos;
+    private long segmentStartEpochNanos;
+    private double decayRate = 1.0;
+    private volatile Location currentLocation;
 
     private KitchenOrder(Builder builder) {
         this.id = builder.id;
@@ -20,6 +38,7 @@ public class KitchenOrder {
         this.temperature = builder.temperature;
         this.price = builder.price;
         this.freshnessDuration = builder.freshnessDuration;
+        this.freshnessNanos = builder.freshnessDuration.toNanos();
     }
 
     // Builder
@@ -62,15 +81,80 @@ public class KitchenOrder {
     public Location getCurrentLocation() { return currentLocation; }
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
+        if (createdAt != null) {
+            this.createdAtEpochNanos = toEpochNanos(createdAt);
+            this.expiryEpochNanos = createdAtEpochNanos + freshnessNanos;
+            this.consumedNanos = 0;
+            this.segmentStartEpochNanos = createdAtEpochNanos;
+            this.decayRate = 1.0;
+        }
+    }
+
+    /**
+     * Continue decaying at a new rate from the given instant, e.g. after a move to another location.
+     * Freshness used since the last relocate is banked at the old rate and the projected expiry is
+     * recomputed, so this is O(1) however often the order moves.
+     */
+    public void relocate(long atEpochNanos, double decayRate) {
+        requireCreated();
+        if (!(decayRate > 0)) {
+            throw new IllegalArgumentException("Decay rate must be positive: " + decayRate);
+        }
+        consumedNanos += (atEpochNanos - segmentStartEpochNanos) * this.decayRate;
+        segmentStartEpochNanos = atEpochNanos;
+        this.decayRate = decayRate;
+        // Expired once strictly past start + remaining / rate; floor keeps hasExpired exact
+        expiryEpochNanos = segmentStartEpochNanos + (long) Math.floor((freshnessNanos - consumedNanos) / decayRate);
+    }
+
+    /**
+     * The expiry deadline relocate(atEpochNanos, decayRate) would set, without changing the order
+     */
+    public long projectedExpiry(long atEpochNanos, double decayRate) {
+        requireCreated();
+        double consumed = consumedNanos + (atEpochNanos - segmentStartEpochNanos) * this.decayRate;
+        return atEpochNanos + (long) Math.floor((freshnessNanos - consumed) / decayRate);
     }
 
+    public double getDecayRate() { return decayRate; }
+
     /**
      * TTL & freshness
      */
     public double getFreshnessRatio(Instant now) {
-        long age = java.time.Duration.between(createdAt, now).toMillis();
-        double ratio = Math.max(0, 1.0 - ((double) age / freshnessDuration.toMillis()));
-        return ratio;
+        return getFreshnessRatio(toEpochNanos(now));
+    }
+
+    /**
+     * Remaining freshness in [0, 1] at the given epoch nanos
+     */
+    public double getFreshnessRatio(long nowEpochNanos) {
+        requireCreated();
+        double consumed = consumedNanos + (nowEpochNanos - segmentStartEpochNanos) * decayRate;
+        return Math.max(0, 1.0 - (consumed / freshnessNanos));
+    }
+
+    /**
+     * Creation time in epoch nanoseconds
+     */
+    public long getCreatedAtEpochNanos() {
+        requireCreated();
+        return createdAtEpochNanos;
+    }
+
+    /**
+     * Projected expiry deadline in epoch nanoseconds, assuming the order stays where it is
+     */
+    public long getExpiryEpochNanos() {
+        requireCreated();
+        return expiryEpochNanos;
+    }
+
+    /**
+     * Projected expiry deadline as an instant, assuming the order stays where it is
+     */
+    public Instant getProjectedExpiry() {
+        return Instant.ofEpochSecond(0, getExpiryEpochNanos());
     }
 
     /**
@@ -79,6 +163,27 @@ public class KitchenOrder {
      * @return boolean
      */
     public boolean hasExpired(Instant now) {
-        return now.isAfter(createdAt.plus(freshnessDuration));
+        return hasExpired(toEpochNanos(now));
+    }
+
+    /**
+     * Check if the order has expired at the given epoch nanos (strictly after the deadline)
+     */
+    public boolean hasExpired(long nowEpochNanos) {
+        requireCreated();
+        return nowEpochNanos > expiryEpochNanos;
+    }
+
+    /**
+     * Epoch nanoseconds of an instant, without allocating
+     */
+    public static long toEpochNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    private void requireCreated() {
+        if (createdAt == null) {
+            throw new IllegalStateException("KitchenOrder " + id + " has no creation time");
+        }
     }
 }
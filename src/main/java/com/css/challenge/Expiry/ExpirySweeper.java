@@ -0,0 +1,81 @@
+package com.css.challenge.Expiry;
+
+import com.css.challenge.Kitchen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background service that periodically sweeps a Kitchen for expired orders.
+ * The kitchen tracks deadlines on its HierarchicalTimingWheel; this service only drives the wheel
+ * forward from a single daemon thread, so there is no thread or ScheduledFuture per order.
+ */
+public class ExpirySweeper implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpirySweeper.class);
+
+    private final Kitchen kitchen;
+    private final Duration interval;
+    private final Clock clock;
+    private final AtomicLong totalExpired = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    public ExpirySweeper(Kitchen kitchen, Duration interval, Clock clock) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Sweep interval must be positive: " + interval);
+        }
+        this.kitchen = kitchen;
+        this.interval = interval;
+        this.clock = clock;
+    }
+
+    /**
+     * Start sweeping every interval
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "expiry-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodNanos = interval.toNanos();
+        scheduler.scheduleAtFixedRate(this::sweep, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Run one sweep at the clock's current instant
+     */
+    public void sweep() {
+        try {
+            int expired = kitchen.sweepExpired(clock.instant());
+            if (expired > 0) {
+                totalExpired.addAndGet(expired);
+                LOGGER.debug("ExpirySweeper: discarded {} expired orders", expired);
+            }
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; a failed sweep is retried on the next tick
+            LOGGER.error("ExpirySweeper: sweep failed", e);
+        }
+    }
+
+    public long getTotalExpired() {
+        return totalExpired.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.css.challenge.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hierarchical timing wheel tracking order expiry deadlines by order id.
+ *
+ * The wheel has LEVELS levels of SLOTS buckets each. Level 0 buckets span one tick, level 1 buckets
+ * span SLOTS ticks, and so on. A timer lands in the lowest level whose range covers its distance
+ * from the current tick. When the lower level wraps, the matching bucket of the level above is
+ * cascaded down. Buckets are intrusive doubly linked lists, so with the id → node map both
+ * schedule and cancel are O(1). advance costs O(timers fired) plus one step per tick elapsed, and
+ * stretches where the lower levels are empty are skipped up to the next cascade boundary.
+ *
+ * A timer fires on the first tick strictly after its deadline, so anything returned by advance
+ * has expired at the advanced-to instant. Thread safe: all methods synchronize on the wheel.
+ */
+public class HierarchicalTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private static final class Timer {
+        final String id;
+        final long expiryTick;
+        Timer prev;
+        Timer next;
+        Timer[] bucketHeads;
+        int slot;
+        int level;
+
+        Timer(String id, long expiryTick) {
+            this.id = id;
+            this.expiryTick = expiryTick;
+        }
+    }
+
+    private final long tickNanos;
+    private final Timer[][] levels = new Timer[LEVELS][SLOTS];
+    private final int[] levelCounts = new int[LEVELS];
+    // Timers already due when scheduled, returned by the next advance
+    private final Timer[] overdue = new Timer[1];
+    private final Map<String, Timer> timersById = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param tick  resolution of the wheel; timers fire at most one tick late
+     * @param start the instant the wheel starts at, usually the kitchen clock's now
+     */
+    public HierarchicalTimingWheel(Duration tick, Instant start) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Timing wheel tick must be positive: " + tick);
+        }
+        this.tickNanos = tick.toNanos();
+        this.currentTick = Math.floorDiv(toEpochNanos(start), tickNanos);
+    }
+
+    /**
+     * Schedule (or reschedule) the id to fire once the given deadline has passed
+     */
+    public synchronized void schedule(String id, long deadlineEpochNanos) {
+        Timer existing = timersById.remove(id);
+        if (existing != null) {
+            unlink(existing);
+        }
+        Timer timer = new Timer(id, Math.floorDiv(deadlineEpochNanos, tickNanos) + 1);
+        timersById.put(id, timer);
+        insert(timer, false);
+    }
+
+    public synchronized void schedule(String id, Instant deadline) {
+        schedule(id, toEpochNanos(deadline));
+    }
+
+    /**
+     * Cancel the timer for the id
+     *
+     * @return true if a timer was pending
+     */
+    public synchronized boolean cancel(String id) {
+        Timer timer = timersById.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the given instant and return the ids whose deadline has passed
+     */
+    public synchronized List<String> advance(Instant now) {
+        return advance(toEpochNanos(now));
+    }
+
+    public synchronized List<String> advance(long nowEpochNanos) {
+        List<String> fired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowEpochNanos, tickNanos);
+
+        drain(overdue, 0, fired);
+        while (currentTick < targetTick && !timersById.isEmpty()) {
+            skipEmptyTicks(targetTick);
+            currentTick++;
+            cascade();
+            drain(levels[0], (int) (currentTick & SLOT_MASK), fired);
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return fired;
+    }
+
+    public synchronized int size() {
+        return timersById.size();
+    }
+
+    public synchronized boolean isScheduled(String id) {
+        return timersById.containsKey(id);
+    }
+
+    /**
+     * While every level below L is empty nothing can fire before the next level L boundary,
+     * so jump to the tick just before it (never past the target).
+     */
+    private void skipEmptyTicks(long targetTick) {
+        int level = 0;
+        while (level < LEVELS && levelCounts[level] == 0) {
+            level++;
+        }
+        if (level == 0) {
+            return;
+        }
+        long span = 1L << (SLOT_BITS * Math.min(level, LEVELS - 1));
+        long boundary = (Math.floorDiv(currentTick, span) + 1) * span;
+        currentTick = Math.max(currentTick, Math.min(boundary, targetTick) - 1);
+    }
+
+    /**
+     * When a level wraps to slot 0, pull the next bucket of the level above down into the wheel
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            long lowerBits = currentTick & ((1L << (SLOT_BITS * level)) - 1);
+            if (lowerBits != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timer timer = levels[level][slot];
+            levels[level][slot] = null;
+            while (timer != null) {
+                levelCounts[level]--;
+                Timer next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                insert(timer, true);
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Place the timer relative to the current tick. While cascading, the current tick's level 0
+     * bucket has not been drained yet, so a timer due exactly now still goes into the wheel.
+     */
+    private void insert(Timer timer, boolean cascading) {
+        long delta = timer.expiryTick - currentTick;
+        if (delta < 0 || (delta == 0 && !cascading)) {
+            link(timer, overdue, 0);
+            timer.level = -1;
+            return;
+        }
+        // Beyond the wheel's span: park in the farthest bucket and re-place when it cascades
+        long placementTick = delta < MAX_SPAN ? timer.expiryTick : currentTick + MAX_SPAN - 1;
+        long placementDelta = placementTick - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && placementDelta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((placementTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        link(timer, levels[level], slot);
+        timer.level = level;
+        levelCounts[level]++;
+    }
+
+    private void link(Timer timer, Timer[] heads, int slot) {
+        Timer head = heads[slot];
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        heads[slot] = timer;
+        timer.bucketHeads = heads;
+        timer.slot = slot;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.bucketHeads != null && timer.level >= 0) {
+            levelCounts[timer.level]--;
+        }
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else if (timer.bucketHeads != null) {
+            timer.bucketHeads[timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.bucketHeads = null;
+    }
+
+    private void drain(Timer[] heads, int slot, List<String> fired) {
+        Timer timer = heads[slot];
+        heads[slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.bucketHeads = null;
+            if (timer.level >= 0) {
+                levelCounts[timer.level]--;
+            }
+            timersById.remove(timer.id);
+            fired.add(timer.id);
+            timer = next;
+        }
+    }
+
+    private static long toEpochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -0,0 +1,106 @@
+package com.css.challenge.Harness;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Kitchen;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * A discrete-event version of SimpleHarness that runs on a VirtualClock instead of real time.
+ *
+ * Placement, pickup and expiry events sit in a priority queue ordered by virtual instant (ties
+ * in scheduling order). The engine pops the next event, advances the clock to it and drives
+ * Kitchen.placeOrder, pickupOrder or expireOrder at that instant. No thread ever sleeps, so a day
+ * of traffic simulates in seconds. Pickup delays come from a seeded Random, so the same orders
+ * and seed always produce the same actions.
+ *   - Orders are placed every placement rate from the start instant
+ *   - Each pickup happens a uniformly random delay between pickupMin and pickupMax after placement
+ *   - Optionally each order gets an expiry event at its projected deadline, discarding it proactively;
+ *     if a move pushed the deadline out, the event is re-queued at the new deadline
+ */
+public class DiscreteEventHarness {
+
+    private enum EventType { PLACE, PICKUP, EXPIRY }
+
+    private record Event(Instant at, long sequence, EventType type, KitchenOrder order) {}
+
+    private static final Comparator<Event> EVENT_ORDER =
+            Comparator.comparing(Event::at).thenComparingLong(Event::sequence);
+
+    private final Kitchen kitchen;
+    private final Duration placementRate;
+    private final Duration pickupMin;
+    private final Duration pickupMax;
+    private final long seed;
+    private final boolean proactiveExpiry;
+    private final VirtualClock clock;
+
+    public DiscreteEventHarness(Kitchen kitchen, Duration placementRate, Duration pickupMin, Duration pickupMax,
+                                long seed, boolean proactiveExpiry, VirtualClock clock) {
+        if (pickupMax.compareTo(pickupMin) < 0) {
+            throw new IllegalArgumentException("Maximum pickup time " + pickupMax + " is below minimum " + pickupMin);
+        }
+        this.kitchen = kitchen;
+        this.placementRate = placementRate;
+        this.pickupMin = pickupMin;
+        this.pickupMax = pickupMax;
+        this.seed = seed;
+        this.proactiveExpiry = proactiveExpiry;
+        this.clock = clock;
+    }
+
+    /**
+     * Simulates running the kitchen with the given list of orders on the virtual clock
+     */
+    public SimpleHarnessResult run(List<KitchenOrder> orders) {
+        long startTime = System.currentTimeMillis();
+
+        Random random = new Random(seed);
+        PriorityQueue<Event> events = new PriorityQueue<>(Math.max(1, orders.size() * 2), EVENT_ORDER);
+        long sequence = 0;
+
+        Instant placeTime = clock.instant();
+        long spreadNanos = pickupMax.toNanos() - pickupMin.toNanos();
+        for (KitchenOrder order : orders) {
+            events.add(new Event(placeTime, sequence++, EventType.PLACE, order));
+            long delayNanos = pickupMin.toNanos() + (spreadNanos == 0 ? 0 : Math.floorMod(random.nextLong(), spreadNanos + 1));
+            events.add(new Event(placeTime.plusNanos(delayNanos), sequence++, EventType.PICKUP, order));
+            placeTime = placeTime.plus(placementRate);
+        }
+
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            clock.advanceTo(event.at());
+            Instant now = clock.instant();
+
+            switch (event.type()) {
+                case PLACE -> {
+                    kitchen.placeOrder(event.order(), now);
+                    if (proactiveExpiry) {
+                        // hasExpired is strict, so fire one nanosecond after the deadline
+                        Instant deadline = Instant.ofEpochSecond(0, event.order().getExpiryEpochNanos());
+                        events.add(new Event(deadline.plusNanos(1), sequence++, EventType.EXPIRY, event.order()));
+                    }
+                }
+                case PICKUP -> kitchen.pickupOrder(event.order().getId(), now);
+                case EXPIRY -> {
+                    KitchenOrder order = event.order();
+                    if (!kitchen.expireOrder(order.getId(), now) && kitchen.findOrder(order.getId()).isPresent()) {
+                        // Still stored but a move slowed its decay: follow the new projected expiry
+                        Instant deadline = Instant.ofEpochSecond(0, order.getExpiryEpochNanos());
+                        events.add(new Event(deadline.plusNanos(1), sequence++, EventType.EXPIRY, order));
+                    }
+                }
+            }
+        }
+
+        long endTime = System.currentTimeMillis();
+
+        return new SimpleHarnessResult(kitchen, startTime, endTime, new PickupLagStats());
+    }
+}
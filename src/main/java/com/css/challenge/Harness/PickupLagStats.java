@@ -0,0 +1,44 @@
+package com.css.challenge.Harness;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how late pickups run compared to when they were scheduled.
+ * Lag is recorded lock-free from any number of courier threads.
+ */
+public class PickupLagStats {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record one pickup that ran lagNanos after its scheduled time
+     */
+    public void record(long lagNanos) {
+        long lag = Math.max(0, lagNanos);
+        count.increment();
+        totalNanos.add(lag);
+        maxNanos.accumulateAndGet(lag, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMeanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / n;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pickups=%d meanLag=%.3fms maxLag=%.3fms",
+                getCount(), getMeanNanos() / 1_000_000.0, getMaxNanos() / 1_000_000.0);
+    }
+}
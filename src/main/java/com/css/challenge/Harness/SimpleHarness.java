@@ -2,12 +2,12 @@ package com.css.challenge.Harness;
 
 import com.css.challenge.Business.KitchenOrder;
 import com.css.challenge.Kitchen;
-import com.css.challenge.client.Action;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.concurrent.*;
 
 /**
@@ -18,19 +18,52 @@ import java.util.concurrent.*;
  *   - Scheduling pickups with a random delay between a minimum and maximum window
  *   - Maintaining monotonic timestamps for all actions
  * This harness is for simulation.
+ *
+ * Pickups run in one of two modes:
+ *   - SCHEDULED_POOL: a 4-thread ScheduledExecutorService runs every pickup
+ *   - VIRTUAL_COURIERS: every courier is its own virtual thread that sleeps until its pickup time,
+ *     so bursts of couriers arrive concurrently instead of queuing behind a small pool
+ * In both modes each finished pickup releases a semaphore permit, and the lag between scheduled
+ * and actual pickup time is measured.
+ *
+ * Orders can also come from an Iterator such as an OrderFeed, so placement starts with the first
+ * order while the rest are still being read.
  */
 public class SimpleHarness {
 
+    /**
+     * How pickups are scheduled
+     */
+    public enum PickupMode {
+        SCHEDULED_POOL,
+        VIRTUAL_COURIERS
+    }
+
+    private static final int POOL_SIZE = 4;
+
     private final Kitchen kitchen;
     private final Duration placementRate;
     private final Duration pickupMin;
     private final Duration pickupMax;
+    private final Clock clock;
+    private final PickupMode pickupMode;
 
     public SimpleHarness(Kitchen kitchen, Duration placementRate, Duration pickupMin, Duration pickupMax) {
+        this(kitchen, placementRate, pickupMin, pickupMax, Clock.systemUTC());
+    }
+
+    public SimpleHarness(Kitchen kitchen, Duration placementRate, Duration pickupMin, Duration pickupMax, Clock clock) {
+        this(kitchen, placementRate, pickupMin, pickupMax, clock, PickupMode.SCHEDULED_POOL);
+    }
+
+    public SimpleHarness(Kitchen kitchen, Duration placementRate, Duration pickupMin, Duration pickupMax,
+                         Clock clock, PickupMode pickupMode) {
         this.kitchen = kitchen;
         this.placementRate = placementRate;
         this.pickupMin = pickupMin;
         this.pickupMax = pickupMax;
+        this.clock = clock;
+        this.pickupMode = pickupMode;
     }
 
     /**
@@ -40,18 +73,33 @@ public class SimpleHarness {
     * ensuring actions are monotonic in time.
     */
     public SimpleHarnessResult run(List<KitchenOrder> orders) {
+        return run(orders.iterator());
+    }
+
+    /**
+     * Simulates running the kitchen with orders taken from the iterator as they become available.
+     * The iterator may block waiting for the next order; the placement rate is kept between orders.
+     */
+    public SimpleHarnessResult run(Iterator<KitchenOrder> orders) {
         long startTime = System.currentTimeMillis();
 
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
-        List<ScheduledFuture<?>> scheduledPickups = new ArrayList<>();
+        ScheduledExecutorService scheduler = pickupMode == PickupMode.SCHEDULED_POOL
+                ? Executors.newScheduledThreadPool(POOL_SIZE)
+                : null;
+        // Order count is unknown up front for a streamed feed: each pickup releases one permit
+        Semaphore pickupsDone = new Semaphore(0);
+        int placed = 0;
+        PickupLagStats lagStats = new PickupLagStats();
 
         // Cumulative placement time to adjust pickup limits
         long cumulativePlacementMs = 0;
 
-        for (KitchenOrder order : orders) {
+        while (orders.hasNext()) {
+            KitchenOrder order = orders.next();
 
-            Instant placeTime = Instant.now();
+            Instant placeTime = clock.instant();
             kitchen.placeOrder(order, placeTime);
+            placed++;
 
             // Calculate maximum safe pickup delay
             Duration ttl = order.getFreshnessDuration();
@@ -66,12 +114,25 @@ public class SimpleHarness {
 
             long delayMs = ThreadLocalRandom.current().nextLong(minPickupMs, actualMaxMs + 1);
 
-            ScheduledFuture<?> f = scheduler.schedule(() -> {
-                Instant pickupTime = Instant.now();
-                kitchen.pickupOrder(order.getId(), pickupTime);
-            }, delayMs, TimeUnit.MILLISECONDS);
-
-            scheduledPickups.add(f);
+            long dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+            Runnable pickup = () -> {
+                try {
+                    lagStats.record(System.nanoTime() - dueNanos);
+                    Instant pickupTime = clock.instant();
+                    kitchen.pickupOrder(order.getId(), pickupTime);
+                } finally {
+                    pickupsDone.release();
+                }
+            };
+
+            if (scheduler != null) {
+                scheduler.schedule(pickup, delayMs, TimeUnit.MILLISECONDS);
+            } else {
+                Thread.ofVirtual().name("courier-" + order.getId()).start(() -> {
+                    sleepUntil(dueNanos);
+                    pickup.run();
+                });
+            }
 
             // Wait only for placement rate, not pickup
             sleep(placementRate);
@@ -79,18 +140,34 @@ public class SimpleHarness {
         }
 
         // Wait for all pickups
-        for (ScheduledFuture<?> f : scheduledPickups) {
-            try {
-                f.get();
-            } catch (Exception ignored) {}
+        try {
+            pickupsDone.acquire(placed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
 
-        scheduler.shutdown();
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
 
         long endTime = System.currentTimeMillis();
-        List<Action> actions = kitchen.getActions();
 
-        return new SimpleHarnessResult(kitchen, actions, startTime, endTime);
+        return new SimpleHarnessResult(kitchen, startTime, endTime, lagStats);
+    }
+
+    /**
+     * Courier wait: sleep until the System.nanoTime deadline
+     */
+    private static void sleepUntil(long dueNanos) {
+        long remaining;
+        while ((remaining = dueNanos - System.nanoTime()) > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
     }
 
     /**
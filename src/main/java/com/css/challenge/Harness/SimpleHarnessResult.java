@@ -8,33 +8,61 @@ import java.util.List;
 /**
  * This class represents results from the harness using the Kitchen, the actions from the kitchen
  * and start and end time.
+ * Without an explicit action list the kitchen's compact action history is only converted to
+ * wire Actions the first time getActions is called, i.e. at submission.
  */
 public class SimpleHarnessResult {
     private final Kitchen kitchen;
-    private final List<Action> actions;
+    private List<Action> actions;
     private final long startTimeMillis;
     private final long endTimeMillis;
+    private final PickupLagStats pickupLag;
 
     public SimpleHarnessResult(
             Kitchen kitchen,
             List<Action> actions,
             long startTimeMillis,
             long endTimeMillis) {
+        this(kitchen, actions, startTimeMillis, endTimeMillis, new PickupLagStats());
+    }
+
+    public SimpleHarnessResult(
+            Kitchen kitchen,
+            long startTimeMillis,
+            long endTimeMillis,
+            PickupLagStats pickupLag) {
+        this(kitchen, null, startTimeMillis, endTimeMillis, pickupLag);
+    }
+
+    public SimpleHarnessResult(
+            Kitchen kitchen,
+            List<Action> actions,
+            long startTimeMillis,
+            long endTimeMillis,
+            PickupLagStats pickupLag) {
         this.kitchen = kitchen;
         this.actions = actions;
         this.startTimeMillis = startTimeMillis;
         this.endTimeMillis = endTimeMillis;
+        this.pickupLag = pickupLag;
     }
 
-    public List<Action> getActions() {
+    public synchronized List<Action> getActions() {
+        if (actions == null) {
+            actions = kitchen.getActions();
+        }
         return actions;
     }
 
-    public int getActionsCount(){
-        return actions.size();
+    public synchronized int getActionsCount(){
+        return actions != null ? actions.size() : kitchen.getActionSink().retainedCount();
     }
 
     public long getDurationMillis(){
         return endTimeMillis - startTimeMillis;
     }
+
+    public PickupLagStats getPickupLag() {
+        return pickupLag;
+    }
 }
@@ -0,0 +1,45 @@
+package com.css.challenge.Harness;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A Clock whose time only moves when the simulation advances it.
+ * Injected wherever real time would be read, so a simulated run is fast and fully deterministic.
+ */
+public class VirtualClock extends Clock {
+
+    private volatile Instant now;
+
+    public VirtualClock(Instant start) {
+        this.now = start;
+    }
+
+    /**
+     * Move the clock forward; time never goes backwards
+     */
+    public void advanceTo(Instant instant) {
+        if (instant.isBefore(now)) {
+            throw new IllegalArgumentException("Virtual clock cannot go back from " + now + " to " + instant);
+        }
+        now = instant;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        // Zone does not matter for instants; the simulation always works in UTC
+        return this;
+    }
+}
@@ -1,17 +1,34 @@
 package com.css.challenge;
 
+import com.css.challenge.Actions.ActionSink;
+import com.css.challenge.Actions.ActionType;
+import com.css.challenge.Actions.ChunkedActionSink;
+import com.css.challenge.Business.DiscardReason;
+import com.css.challenge.Business.FreshnessDecayModel;
 import com.css.challenge.Business.KitchenOrder;
 import com.css.challenge.Business.Location;
 import com.css.challenge.Business.Temperature;
+import com.css.challenge.Expiry.HierarchicalTimingWheel;
+import com.css.challenge.Metrics.KitchenMetrics;
+import com.css.challenge.Metrics.MetricsSnapshot;
 import com.css.challenge.Strategies.DiscardStrategy;
+import com.css.challenge.Trace.EventTracer;
+import com.css.challenge.Trace.TracePoint;
+import com.css.challenge.Strategies.ShelfRebalancer;
+import com.css.challenge.Storage.DiscardedOrderRegistry;
 import com.css.challenge.Storage.StorageRepository;
+import com.css.challenge.Storage.UnboundedDiscardedOrderRegistry;
 import com.css.challenge.client.Action;
+import com.css.challenge.client.ActionStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -21,37 +38,173 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * - Places orders in the correct storage based on temperature.
  * - Discarding the least fresh orders when storage is full.
  * - Handling order pickups while enforcing that the food is still fresh otherwise use DiscardFreshnessStrategy.
- * - Records the actions for (place, pickup, move, discard) for simulation
+ * - Records the actions for (place, pickup, move, discard) for simulation into a pluggable ActionSink
  *
- * Thread safety is using ReadWriteLocks
+ * Every stored order is tracked in a concurrent order index (id → order and location), so a pickup
+ * resolves the order and its storage with a single hash lookup instead of probing each storage.
+ *
+ * Hot and cold orders overflowing onto the shelf are tracked by a ShelfRebalancer. Whenever heater or
+ * cooler space frees up, the most at-risk shelf order of that temperature is moved home right away.
+ * In PER_LOCATION mode that move only happens if the shelf lock is free: a pickup never waits for
+ * another thread's shelf work. A skipped rebalance is remembered and done by the next placement
+ * that locks every location, or the next rebalance of that storage.
+ *
+ * With an expiry wheel configured, every stored order is also scheduled at its expiry deadline;
+ * sweepExpired discards orders proactively instead of waiting for a pickup to notice them.
+ *
+ * Freshness decays per the FreshnessDecayModel (uniform by default). Every placement and move
+ * relocates the order at the new location's rate, which updates its projected expiry; the shelf
+ * index, the rebalancer and the expiry wheel are all keyed on that projected expiry.
+ *
+ * Counters, occupancy gauges and latency histograms (place, pickup, lock wait, dwell) are kept in
+ * KitchenMetrics; they are updated lock-free and can be snapshot at any time.
+ *
+ * Thread safety depends on the LockingMode:
+ * - GLOBAL serializes every placement and pickup behind one write lock.
+ * - PER_LOCATION keeps one lock per storage location (heater, cooler, shelf). Placements into
+ *   a storage with space and pickups only lock that storage; the shelf overflow/move path locks
+ *   every location, always in Location declaration order so two threads can never deadlock.
  */
 public class Kitchen {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Kitchen.class);
+    private static final EventTracer TRACER = EventTracer.global();
+
+    /**
+     * How the kitchen guards its storage repositories
+     */
+    public enum LockingMode {
+        GLOBAL,
+        PER_LOCATION
+    }
+
+    /**
+     * Outcome of picking up one id in a wave
+     */
+    public enum PickupStatus {
+        PICKED_UP,
+        // Discarded because it expired, during this wave or earlier
+        DISCARDED_EXPIRED,
+        // Discarded earlier while still fresh, to make room on a full shelf
+        DISCARDED_OVERFLOW,
+        // Not in the kitchen: never placed, already picked up, or discarded too long ago to remember
+        UNKNOWN
+    }
+
+    public record PickupResult(String id, PickupStatus status, Optional<KitchenOrder> order) {}
+
+    private static final EnumSet<Location> ALL_LOCATIONS = EnumSet.allOf(Location.class);
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final EnumMap<Location, ReentrantLock> locationLocks = new EnumMap<>(Location.class);
+    // Heater/cooler space freed while the shelf lock was busy, still to be filled from the shelf
+    private final EnumMap<Location, AtomicBoolean> rebalancePending = new EnumMap<>(Location.class);
+    private final LockingMode lockingMode;
 
     private final StorageRepository heaterStorage;
     private final StorageRepository coolerStorage;
     private final StorageRepository shelfStorage;
     private final DiscardStrategy discardStrategy;
+    private final HierarchicalTimingWheel expiryWheel;
+    private final ShelfRebalancer shelfRebalancer = new ShelfRebalancer();
 
-    private final Set<String> discardedOrderIds = new HashSet<>();
-    private final List<Action> actionLog = new ArrayList<>();
+    /**
+     * Index entry: the order and the storage location it currently lives in
+     */
+    private record IndexedOrder(KitchenOrder order, Location location) {}
 
-    private int totalOrdersPlaced = 0;
-    private int totalOrdersPickedUp = 0;
-    private int totalOrdersDiscardedExpired = 0;
+    private final Map<String, IndexedOrder> orderIndex = new ConcurrentHashMap<>();
+    private final DiscardedOrderRegistry discardedOrders;
+    private final ActionSink actionSink;
+    private final FreshnessDecayModel decayModel;
+    private final KitchenMetrics metrics;
 
     public Kitchen(StorageRepository heater,
                    StorageRepository cooler,
                    StorageRepository shelf,
                    DiscardStrategy discardStrategy) {
+        this(heater, cooler, shelf, discardStrategy, LockingMode.GLOBAL);
+    }
 
-        this.heaterStorage = heater;
-        this.coolerStorage = cooler;
-        this.shelfStorage = shelf;
-        this.discardStrategy = discardStrategy;
+    public Kitchen(StorageRepository heater,
+                   StorageRepository cooler,
+                   StorageRepository shelf,
+                   DiscardStrategy discardStrategy,
+                   LockingMode lockingMode) {
+        this(builder()
+                .heater(heater)
+                .cooler(cooler)
+                .shelf(shelf)
+                .discardStrategy(discardStrategy)
+                .lockingMode(lockingMode));
+    }
+
+    private Kitchen(Builder builder) {
+        if (builder.heater == null || builder.cooler == null || builder.shelf == null
+                || builder.discardStrategy == null || builder.lockingMode == null) {
+            throw new IllegalStateException("Kitchen missing required fields");
+        }
+        this.heaterStorage = builder.heater;
+        this.coolerStorage = builder.cooler;
+        this.shelfStorage = builder.shelf;
+        this.discardStrategy = builder.discardStrategy;
+        this.lockingMode = builder.lockingMode;
+        this.expiryWheel = builder.expiryWheel;
+        this.actionSink = builder.actionSink != null ? builder.actionSink : new ChunkedActionSink();
+        this.discardedOrders = builder.discardedOrders != null
+                ? builder.discardedOrders
+                : new UnboundedDiscardedOrderRegistry();
+        this.decayModel = builder.decayModel != null ? builder.decayModel : FreshnessDecayModel.uniform();
+        this.metrics = builder.metrics != null ? builder.metrics : new KitchenMetrics();
+        metrics.registerCapacity(Location.HEATER, heaterStorage.getCapacity());
+        metrics.registerCapacity(Location.COOLER, coolerStorage.getCapacity());
+        metrics.registerCapacity(Location.SHELF, shelfStorage.getCapacity());
+
+        for (Location loc : Location.values()) {
+            locationLocks.put(loc, new ReentrantLock());
+            rebalancePending.put(loc, new AtomicBoolean());
+        }
+    }
+
+    // Builder
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private StorageRepository heater;
+        private StorageRepository cooler;
+        private StorageRepository shelf;
+        private DiscardStrategy discardStrategy;
+        private LockingMode lockingMode = LockingMode.GLOBAL;
+        private HierarchicalTimingWheel expiryWheel;
+        private ActionSink actionSink;
+        private DiscardedOrderRegistry discardedOrders;
+        private FreshnessDecayModel decayModel;
+        private KitchenMetrics metrics;
+
+        public Builder heater(StorageRepository heater) { this.heater = heater; return this; }
+        public Builder cooler(StorageRepository cooler) { this.cooler = cooler; return this; }
+        public Builder shelf(StorageRepository shelf) { this.shelf = shelf; return this; }
+        public Builder discardStrategy(DiscardStrategy strategy) { this.discardStrategy = strategy; return this; }
+        public Builder lockingMode(LockingMode mode) { this.lockingMode = mode; return this; }
+        public Builder expiryWheel(HierarchicalTimingWheel wheel) { this.expiryWheel = wheel; return this; }
+        public Builder actionSink(ActionSink sink) { this.actionSink = sink; return this; }
+        public Builder discardedOrders(DiscardedOrderRegistry registry) { this.discardedOrders = registry; return this; }
+        public Builder decayModel(FreshnessDecayModel model) { this.decayModel = model; return this; }
+        public Builder metrics(KitchenMetrics metrics) { this.metrics = metrics; return this; }
+
+        public Kitchen build() {
+            return new Kitchen(this);
+        }
+    }
+
+    public FreshnessDecayModel getDecayModel() {
+        return decayModel;
+    }
+
+    public LockingMode getLockingMode() {
+        return lockingMode;
     }
 
     /**
@@ -76,169 +229,959 @@ public class Kitchen {
         };
     }
 
+    /**
+     * Temperature an ideal storage location holds; the shelf holds room temperature orders
+     */
+    private static Temperature idealTemperature(Location loc) {
+        return switch (loc) {
+            case HEATER -> Temperature.HOT;
+            case COOLER -> Temperature.COLD;
+            case SHELF -> Temperature.ROOM;
+        };
+    }
+
+    /**
+     * Acquire the locks guarding the given locations. EnumSet iterates in declaration order,
+     * which gives every caller the same fixed lock order.
+     */
+    private void lockLocations(EnumSet<Location> locations) {
+        long start = System.nanoTime();
+        if (lockingMode == LockingMode.GLOBAL) {
+            lock.writeLock().lock();
+        } else {
+            for (Location loc : locations) {
+                locationLocks.get(loc).lock();
+            }
+        }
+        metrics.recordLockWait(System.nanoTime() - start);
+    }
+
+    /**
+     * Like lockLocations, but give up instead of waiting if the shelf lock is taken. Always succeeds
+     * in GLOBAL mode, where there is only one lock to wait for.
+     *
+     * @return true if every lock is held
+     */
+    private boolean lockLocationsUnlessShelfBusy(EnumSet<Location> locations) {
+        if (lockingMode == LockingMode.GLOBAL || !locations.contains(Location.SHELF)) {
+            lockLocations(locations);
+            return true;
+        }
+        long start = System.nanoTime();
+        EnumSet<Location> others = EnumSet.copyOf(locations);
+        others.remove(Location.SHELF);
+        for (Location loc : others) {
+            locationLocks.get(loc).lock();
+        }
+        // The shelf comes last in the lock order, so trying it while holding the others is safe
+        boolean locked = locationLocks.get(Location.SHELF).tryLock();
+        metrics.recordLockWait(System.nanoTime() - start);
+        if (!locked) {
+            for (Location loc : others) {
+                locationLocks.get(loc).unlock();
+            }
+        }
+        return locked;
+    }
+
+    /**
+     * Release locks taken by lockLocations
+     */
+    private void unlockLocations(EnumSet<Location> locations) {
+        if (lockingMode == LockingMode.GLOBAL) {
+            lock.writeLock().unlock();
+            return;
+        }
+        for (Location loc : locations) {
+            locationLocks.get(loc).unlock();
+        }
+    }
+
     /**
     * Record actions for the order and action "move", "discard" and target of where it should go
     */
-    private void recordAction(Instant ts, KitchenOrder order, String action, String target) {
-        Action a = new Action(ts, order.getId(), action, target);
-        actionLog.add(a);
-        LOGGER.info("ACTION {}", a);
+    private void recordAction(Instant ts, KitchenOrder order, ActionType type, Location target) {
+        long timestampMicros = Math.floorDiv(KitchenOrder.toEpochNanos(ts), 1_000L);
+        actionSink.append(timestampMicros, order.getId(), type, target);
+        TRACER.trace(TracePoint.ACTION, order.getId(), type.getValue(), target.toString(), timestampMicros, 0);
     }
 
     /**
-     * Retrieve all actions the kitchen is doing
+     * Retrieve all actions the kitchen is doing (those the action sink still retains)
      */
     public List<Action> getActions() {
-        return List.copyOf(actionLog);
+        return actionSink.snapshot();
+    }
+
+    /**
+     * Retrieve the actions recorded from the given sequence number on, with the cursor for the next read
+     */
+    public ActionSink.Batch actionsSince(long sequence) {
+        return actionSink.actionsSince(sequence);
+    }
+
+    /**
+     * Stream all retained actions in wire form without materializing them, for submission
+     */
+    public ActionStream streamActions() {
+        return actionSink.streamSince(actionSink.firstRetainedSequence());
+    }
+
+    public ActionSink getActionSink() {
+        return actionSink;
     }
 
     /**
     * Given a kitchen order place the order with the given steps
     */
     public void placeOrder(KitchenOrder order, Instant now) {
-        lock.writeLock().lock();
+        long start = System.nanoTime();
         try {
-            LOGGER.info("Kitchen: Placing order {} at {}", order.getId(), now);
-            order.setCreatedAt(now);
+            place(order, now);
+        } finally {
+            metrics.recordPlaceLatency(System.nanoTime() - start);
+        }
+    }
+
+    private void place(KitchenOrder order, Instant now) {
+        order.setCreatedAt(now);
 
+        // Fast path: only the ideal storage is touched when it has room
+        if (lockingMode == LockingMode.PER_LOCATION) {
             StorageRepository ideal = getStorage(order.getTemperature());
+            EnumSet<Location> idealOnly = EnumSet.of(ideal.getLocation());
+            lockLocations(idealOnly);
+            try {
+                if (ideal.hasSpace()) {
+                    placeInto(ideal, order, now);
+                    return;
+                }
+            } finally {
+                unlockLocations(idealOnly);
+            }
+        }
 
-            // 1) Try ideal storage
-            if (ideal.hasSpace()) {
-                ideal.add(order, now);
-                order.setCurrentLocation(ideal.getLocation());
-                recordAction(now, order, Action.PLACE, ideal.getLocationName());
-                totalOrdersPlaced++;
+        lockLocations(ALL_LOCATIONS);
+        try {
+            rebalancePendingLocked(now);
+            placeLocked(order, now);
+        } finally {
+            unlockLocations(ALL_LOCATIONS);
+        }
+    }
+
+    /**
+     * Place a burst of orders created at the same instant, with the same decisions and recorded
+     * actions as placing them one by one in list order.
+     *
+     * In PER_LOCATION mode a burst whose orders all fit in their ideal storages only locks those
+     * storages and goes straight in. Otherwise every lock is taken once and the whole burst is
+     * planned before anything changes (see planBurst): ideal storage, shelf, move home or discard
+     * is decided per order from free-space counters, the rebalancer's urgency order and the shelf's
+     * freshness order, each walked once, and the plan is then applied. Discard strategies that do
+     * not discard the least fresh order fall back to running placeOrder's rules per order.
+     */
+    public void placeOrders(List<KitchenOrder> orders, Instant now) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        if (lockingMode == LockingMode.PER_LOCATION && placeAllInIdeal(orders, now)) {
+            return;
+        }
+        lockLocations(ALL_LOCATIONS);
+        try {
+            rebalancePendingLocked(now);
+            if (discardStrategy.discardsLeastFresh() && shelfStorage.supportsFreshnessOrder()) {
+                for (PlannedPlacement placement : planBurst(orders, now)) {
+                    long start = System.nanoTime();
+                    applyPlacement(placement, now);
+                    metrics.recordPlaceLatency(System.nanoTime() - start);
+                }
                 return;
             }
+            for (KitchenOrder order : orders) {
+                long start = System.nanoTime();
+                order.setCreatedAt(now);
+                placeLocked(order, now);
+                metrics.recordPlaceLatency(System.nanoTime() - start);
+            }
+        } finally {
+            unlockLocations(ALL_LOCATIONS);
+        }
+    }
 
-            // 2) Try shelf if ideal is full
-            if (shelfStorage.hasSpace()) {
-                shelfStorage.add(order, now);
-                order.setCurrentLocation(shelfStorage.getLocation());
-                recordAction(now, order, Action.PLACE, shelfStorage.getLocationName());
-                totalOrdersPlaced++;
-                return;
+    /**
+     * Where one burst order goes (null if it cannot be placed), and the shelf order moved home or
+     * discarded first to make room for it, if any
+     */
+    private record PlannedPlacement(KitchenOrder order, Location target, KitchenOrder moved, KitchenOrder discarded) {}
+
+    /**
+     * Decide every placement of a burst without changing the kitchen, following placeLocked's rules.
+     * Caller holds every storage lock.
+     *
+     * Nothing is picked up during a burst, so heater and cooler space only shrinks. A hot or cold
+     * order overflowing to the shelf therefore never becomes movable within the burst, and once a
+     * move is impossible it stays impossible: the overflow orders take moves first and discards after.
+     */
+    private List<PlannedPlacement> planBurst(List<KitchenOrder> orders, Instant now) {
+        long nowEpochNanos = KitchenOrder.toEpochNanos(now);
+        int[] free = new int[Location.values().length];
+        for (Location location : Location.values()) {
+            StorageRepository storage = getStorage(location);
+            free[location.ordinal()] = storage.getCapacity() - storage.getCurrentCount();
+        }
+        int shelf = Location.SHELF.ordinal();
+        MoveCandidates moves = new MoveCandidates(nowEpochNanos);
+        DiscardCandidates discards = new DiscardCandidates(shelfStorage.leastFreshFirst());
+
+        List<PlannedPlacement> plan = new ArrayList<>(orders.size());
+        for (KitchenOrder order : orders) {
+            order.setCreatedAt(now);
+            Location ideal = getStorage(order.getTemperature()).getLocation();
+            Location target = Location.SHELF;
+            KitchenOrder moved = null;
+            KitchenOrder discarded = null;
+            if (free[ideal.ordinal()] > 0) {
+                free[ideal.ordinal()]--;
+                target = ideal;
+            } else if (free[shelf] > 0) {
+                free[shelf]--;
+            } else if ((moved = moves.next(free)) != null) {
+                discards.skip(moved);
+            } else if ((discarded = discards.next()) == null) {
+                target = null;
+            }
+            if (target == Location.SHELF) {
+                discards.add(order, order.projectedExpiry(nowEpochNanos, decayModel.rate(order.getTemperature(), target)));
             }
+            plan.add(new PlannedPlacement(order, target, moved, discarded));
+        }
+        return plan;
+    }
+
+    /**
+     * Carry out one planned placement, recording the same actions as placeLocked. Caller holds every storage lock.
+     */
+    private void applyPlacement(PlannedPlacement placement, Instant now) {
+        KitchenOrder order = placement.order();
+        if (TRACER.isEnabled(TracePoint.PLACING)) {
+            TRACER.trace(TracePoint.PLACING, order.getId(), null, null, KitchenOrder.toEpochNanos(now) / 1_000, 0);
+        }
+        if (placement.moved() != null) {
+            moveToIdeal(placement.moved(), now);
+        }
+        if (placement.discarded() != null) {
+            KitchenOrder victim = placement.discarded();
+            TRACER.trace(TracePoint.DISCARD_SELECTED, victim.getId(), discardStrategy.getName(),
+                    shelfStorage.getName(), victim.getExpiryEpochNanos(), 0);
+            discardOrder(victim, now);
+        }
+        if (placement.target() == null) {
+            LOGGER.warn("Kitchen: NO SPACE for order {} — could not be placed", order.getId());
+            return;
+        }
+        placeInto(getStorage(placement.target()), order, now);
+    }
+
+    /**
+     * Shelf orders a burst can move home, as selectMoveCandidate would pick them one after another:
+     * the most urgent unexpired order across the temperatures whose ideal storage still has room.
+     * Each temperature's rebalancer queue is walked lazily, once, without changing it.
+     */
+    private final class MoveCandidates {
+        private final long nowEpochNanos;
+        private final EnumMap<Temperature, Iterator<KitchenOrder>> queues = new EnumMap<>(Temperature.class);
+        private final EnumMap<Temperature, KitchenOrder> heads = new EnumMap<>(Temperature.class);
+
+        MoveCandidates(long nowEpochNanos) {
+            this.nowEpochNanos = nowEpochNanos;
+        }
 
-            // 3) Shelf full → attempt to move orders to ideal first
-            if (!moveOrderFromShelfIfPossible(now)) {
-                // Could not move anything → discard least fresh shelf order
-                Optional<KitchenOrder> discardShelf = discardStrategy.selectDiscardCandidate(shelfStorage, now);
-                discardShelf.ifPresent(o -> discardOrder(o, now));
+        /**
+         * The next order to move, taking a slot of its ideal storage from free; null if none can move
+         */
+        KitchenOrder next(int[] free) {
+            Temperature best = null;
+            for (Temperature temperature : Temperature.values()) {
+                if (free[getStorage(temperature).getLocation().ordinal()] == 0) {
+                    continue;
+                }
+                KitchenOrder head = head(temperature);
+                if (head != null && (best == null || head.getExpiryEpochNanos() < heads.get(best).getExpiryEpochNanos())) {
+                    best = temperature;
+                }
             }
+            if (best == null) {
+                return null;
+            }
+            free[getStorage(best).getLocation().ordinal()]--;
+            return heads.remove(best);
+        }
 
-            // 4) Place on shelf after possible move/discard
-            if (shelfStorage.hasSpace()) {
-                shelfStorage.add(order, now);
-                order.setCurrentLocation(shelfStorage.getLocation());
-                recordAction(now, order, Action.PLACE, shelfStorage.getLocationName());
-                totalOrdersPlaced++;
-                return;
+        private KitchenOrder head(Temperature temperature) {
+            KitchenOrder head = heads.get(temperature);
+            if (head != null) {
+                return head;
+            }
+            Iterator<KitchenOrder> queue = queues.computeIfAbsent(temperature, shelfRebalancer::mostUrgentFirst);
+            while (queue.hasNext()) {
+                KitchenOrder candidate = queue.next();
+                if (!candidate.hasExpired(nowEpochNanos)) {
+                    heads.put(temperature, candidate);
+                    return candidate;
+                }
             }
+            return null;
+        }
+    }
 
-            // 5) Nothing worked — drop on floor
-            LOGGER.warn("Kitchen: NO SPACE for order {} — could not be placed", order.getId());
+    /**
+     * The shelf's least fresh order as a burst's discards would find it one after another: the
+     * shelf's freshness order, walked once, merged with the burst orders planned onto the shelf.
+     * Ties go to the order that reached the shelf first, as in the shelf's expiry index.
+     */
+    private static final class DiscardCandidates {
+        private record Planned(KitchenOrder order, long expiry, int sequence) {}
+
+        private final Iterator<KitchenOrder> shelved;
+        private final Set<String> movedIds = new HashSet<>();
+        private final PriorityQueue<Planned> planned =
+                new PriorityQueue<>(Comparator.comparingLong(Planned::expiry).thenComparingInt(Planned::sequence));
+        private KitchenOrder nextShelved;
+        private int sequence;
+
+        DiscardCandidates(Iterator<KitchenOrder> shelved) {
+            this.shelved = shelved;
+        }
+
+        void add(KitchenOrder order, long expiry) {
+            planned.add(new Planned(order, expiry, sequence++));
+        }
+
+        void skip(KitchenOrder moved) {
+            movedIds.add(moved.getId());
+            if (nextShelved == moved) {
+                nextShelved = null;
+            }
+        }
+
+        /**
+         * The next order to discard, or null when the shelf is empty
+         */
+        KitchenOrder next() {
+            while (nextShelved == null && shelved.hasNext()) {
+                KitchenOrder candidate = shelved.next();
+                if (!movedIds.contains(candidate.getId())) {
+                    nextShelved = candidate;
+                }
+            }
+            Planned head = planned.peek();
+            if (nextShelved != null && (head == null || nextShelved.getExpiryEpochNanos() <= head.expiry())) {
+                KitchenOrder victim = nextShelved;
+                nextShelved = null;
+                return victim;
+            }
+            return head == null ? null : planned.poll().order();
+        }
+    }
 
+    /**
+     * Lock only the ideal storages of the burst and, if each has room for all of its orders, place
+     * them there. Returns false without placing anything when any of them would overflow.
+     */
+    private boolean placeAllInIdeal(List<KitchenOrder> orders, Instant now) {
+        int[] needed = new int[Location.values().length];
+        EnumSet<Location> ideals = EnumSet.noneOf(Location.class);
+        for (KitchenOrder order : orders) {
+            Location ideal = getStorage(order.getTemperature()).getLocation();
+            needed[ideal.ordinal()]++;
+            ideals.add(ideal);
+        }
+        lockLocations(ideals);
+        try {
+            for (Location location : ideals) {
+                StorageRepository storage = getStorage(location);
+                if (storage.getCapacity() - storage.getCurrentCount() < needed[location.ordinal()]) {
+                    return false;
+                }
+            }
+            for (KitchenOrder order : orders) {
+                long start = System.nanoTime();
+                order.setCreatedAt(now);
+                placeInto(getStorage(order.getTemperature()), order, now);
+                metrics.recordPlaceLatency(System.nanoTime() - start);
+            }
+            return true;
         } finally {
-            lock.writeLock().unlock();
+            unlockLocations(ideals);
         }
     }
 
+    /**
+     * Placement rules: ideal storage, then shelf, then make room on the shelf. Caller holds every storage lock.
+     */
+    private void placeLocked(KitchenOrder order, Instant now) {
+        if (TRACER.isEnabled(TracePoint.PLACING)) {
+            TRACER.trace(TracePoint.PLACING, order.getId(), null, null, KitchenOrder.toEpochNanos(now) / 1_000, 0);
+        }
+
+        StorageRepository ideal = getStorage(order.getTemperature());
+
+        // 1) Try ideal storage
+        if (ideal.hasSpace()) {
+            placeInto(ideal, order, now);
+            return;
+        }
+
+        // 2) Try shelf if ideal is full
+        if (shelfStorage.hasSpace()) {
+            placeInto(shelfStorage, order, now);
+            return;
+        }
+
+        // 3) Shelf full → attempt to move orders to ideal first
+        if (!moveOrderFromShelfIfPossible(now)) {
+            // Could not move anything → discard least fresh shelf order
+            Optional<KitchenOrder> discardShelf = discardStrategy.selectDiscardCandidate(shelfStorage, now);
+            discardShelf.ifPresent(o -> discardOrder(o, now));
+        }
+
+        // 4) Place on shelf after possible move/discard
+        if (shelfStorage.hasSpace()) {
+            placeInto(shelfStorage, order, now);
+            return;
+        }
+
+        // 5) Nothing worked — drop on floor
+        LOGGER.warn("Kitchen: NO SPACE for order {} — could not be placed", order.getId());
+    }
+
+    /**
+     * Add the order to the storage and record the placement. Caller holds the storage lock.
+     */
+    private void placeInto(StorageRepository storage, KitchenOrder order, Instant now) {
+        store(storage, order, now);
+        recordAction(now, order, ActionType.PLACE, storage.getLocation());
+        metrics.recordPlace(storage.getLocation());
+    }
 
     /**
-     * Move the order if the storage repository has room and return boolean if successful
+     * Add the order to the storage and every kitchen index, without recording an action
+     */
+    private void store(StorageRepository storage, KitchenOrder order, Instant now) {
+        relocate(order, storage.getLocation(), now);
+        index(storage, order, now);
+    }
+
+    /**
+     * Add an order already decaying at the storage's rate to the storage and every kitchen index
+     */
+    private void index(StorageRepository storage, KitchenOrder order, Instant now) {
+        storage.add(order, now);
+        metrics.orderStored(storage.getLocation());
+        order.setCurrentLocation(storage.getLocation());
+        orderIndex.put(order.getId(), new IndexedOrder(order, storage.getLocation()));
+        if (storage == shelfStorage) {
+            shelfRebalancer.track(order);
+        }
+        if (expiryWheel != null) {
+            expiryWheel.schedule(order.getId(), order.getExpiryEpochNanos());
+        }
+    }
+
+    /**
+     * Put an order back into the given storage while recovering state (e.g. from an action journal).
+     * No action is recorded and no placement rules run; the storage must have room.
+     */
+    public void restoreOrder(KitchenOrder order, Location location, Instant createdAt) {
+        lockLocations(ALL_LOCATIONS);
+        try {
+            order.setCreatedAt(createdAt);
+            store(getStorage(location), order, createdAt);
+        } finally {
+            unlockLocations(ALL_LOCATIONS);
+        }
+    }
+
+    /**
+     * Put an order back into the given storage while recovering state, keeping the decay history
+     * already replayed into it through KitchenOrder.relocate (e.g. shelf time before a move).
+     * No action is recorded and no placement rules run; the storage must have room.
+     */
+    public void restoreReplayedOrder(KitchenOrder order, Location location, Instant storedAt) {
+        if (order.getCreatedAt() == null) {
+            throw new IllegalArgumentException("Replayed order " + order.getId() + " has no creation time");
+        }
+        lockLocations(ALL_LOCATIONS);
+        try {
+            index(getStorage(location), order, storedAt);
+        } finally {
+            unlockLocations(ALL_LOCATIONS);
+        }
+    }
+
+    /**
+     * Mark an id as discarded while recovering state, so a later pickup is rejected with its reason
+     */
+    public void restoreDiscarded(String id, DiscardReason reason, Instant discardedAt) {
+        discardedOrders.add(id, reason, discardedAt);
+    }
+
+    /**
+     * Remove the order from the storage, keeping the shelf rebalancer in sync. Caller holds the storage lock.
+     */
+    private boolean removeFromStorage(StorageRepository storage, KitchenOrder order) {
+        boolean removed = storage.remove(order.getId());
+        if (removed) {
+            removedFromStorage(storage, order);
+        }
+        return removed;
+    }
+
+    /**
+     * Update the occupancy gauge and the shelf rebalancer for an order the storage no longer holds
+     */
+    private void removedFromStorage(StorageRepository storage, KitchenOrder order) {
+        metrics.orderRemoved(storage.getLocation());
+        if (storage == shelfStorage) {
+            shelfRebalancer.untrack(order);
+        }
+    }
+
+
+    /**
+     * Move the most at-risk shelf order whose ideal storage has room and return boolean if successful.
+     * Caller holds every storage lock.
      */
     private boolean moveOrderFromShelfIfPossible(Instant now) {
-        List<KitchenOrder> shelfOrders = new ArrayList<>(shelfStorage.getAllOrders());
+        Optional<KitchenOrder> candidate =
+                shelfRebalancer.selectMoveCandidate(temp -> getStorage(temp).hasSpace(), now);
+        if (candidate.isEmpty()) {
+            // Nothing could be moved
+            return false;
+        }
+        moveToIdeal(candidate.get(), now);
+        return true; // moved one order to make room
+    }
 
-        for (KitchenOrder o : shelfOrders) {
-            if (o.getFreshnessRatio(now) <= 0) continue; // skip expired
-            StorageRepository ideal = getStorage(o.getTemperature());
-            // Only move to ideal storage if it has space
-            if (ideal.hasSpace()) {
-                shelfStorage.remove(o.getId());
-                ideal.add(o, now);
-                o.setCurrentLocation(ideal.getLocation());
-                recordAction(now, o, Action.MOVE, ideal.getLocationName());
-                return true; // moved one order to make room
-            }
+    /**
+     * Move a shelf order into its ideal storage. Caller holds the shelf and ideal storage locks.
+     */
+    private void moveToIdeal(KitchenOrder order, Instant now) {
+        StorageRepository ideal = getStorage(order.getTemperature());
+        removeFromStorage(shelfStorage, order);
+        relocate(order, ideal.getLocation(), now);
+        ideal.add(order, now);
+        metrics.orderStored(ideal.getLocation());
+        order.setCurrentLocation(ideal.getLocation());
+        orderIndex.put(order.getId(), new IndexedOrder(order, ideal.getLocation()));
+        if (expiryWheel != null) {
+            // Decay slows down in the ideal storage, which pushes the deadline out
+            expiryWheel.schedule(order.getId(), order.getExpiryEpochNanos());
+        }
+        recordAction(now, order, ActionType.MOVE, ideal.getLocation());
+        metrics.recordMove(ideal.getLocation());
+    }
+
+    /**
+     * Switch the order to the decay rate of its new location, before it is indexed anywhere by expiry
+     */
+    private void relocate(KitchenOrder order, Location location, Instant now) {
+        if (order.getCreatedAt() == null) {
+            order.setCreatedAt(now);
+        }
+        order.relocate(KitchenOrder.toEpochNanos(now), decayModel.rate(order.getTemperature(), location));
+    }
+
+    /**
+     * Space freed up in the heater or cooler: move the most at-risk shelf orders of that
+     * temperature home while there is room. Opportunistic in PER_LOCATION mode: if another thread
+     * holds the shelf, the rebalance is left pending rather than waited for.
+     */
+    private void rebalanceInto(Location freed, Instant now) {
+        if (freed == Location.SHELF) {
+            return;
         }
+        AtomicBoolean pending = rebalancePending.get(freed);
+        EnumSet<Location> locked = EnumSet.of(freed, Location.SHELF);
+        if (!lockLocationsUnlessShelfBusy(locked)) {
+            pending.set(true);
+            return;
+        }
+        try {
+            pending.set(false);
+            fillFromShelf(freed, now);
+        } finally {
+            unlockLocations(locked);
+        }
+    }
 
-        // Nothing could be moved
-        return false;
+    /**
+     * Do the rebalances skipped while the shelf was busy. Caller holds every storage lock.
+     */
+    private void rebalancePendingLocked(Instant now) {
+        for (Map.Entry<Location, AtomicBoolean> pending : rebalancePending.entrySet()) {
+            if (pending.getValue().get() && pending.getValue().getAndSet(false)) {
+                fillFromShelf(pending.getKey(), now);
+            }
+        }
     }
 
+    /**
+     * Move shelf orders into the heater or cooler while it has room. Caller holds its lock and the shelf lock.
+     */
+    private void fillFromShelf(Location location, Instant now) {
+        StorageRepository ideal = getStorage(location);
+        Temperature temperature = idealTemperature(location);
+        while (ideal.hasSpace()) {
+            Optional<KitchenOrder> candidate = shelfRebalancer.mostUrgent(temperature, now);
+            if (candidate.isEmpty()) {
+                break;
+            }
+            moveToIdeal(candidate.get(), now);
+        }
+    }
 
     /**
-     * Pick up an order given an ide and check all storage repositories
+     * Pick up an order given an id. The order index resolves the order and its storage in one lookup.
+     * In PER_LOCATION mode only the storage holding the order is locked. If the order was moved
+     * between the lookup and taking the lock, the lookup is retried.
      */
     public Optional<KitchenOrder> pickupOrder(String id, Instant now) {
-        lock.writeLock().lock();
+        long start = System.nanoTime();
         try {
-            if (discardedOrderIds.contains(id)) {
+            return pickup(id, now);
+        } finally {
+            metrics.recordPickupLatency(System.nanoTime() - start);
+        }
+    }
+
+    private Optional<KitchenOrder> pickup(String id, Instant now) {
+        while (true) {
+            if (discardedOrders.contains(id, now)) {
                 return Optional.empty();
             }
 
-            Optional<KitchenOrder> found = findOrder(id);
-            if (found.isEmpty()) {
-                LOGGER.warn("Pickup attempted for unknown id {}", id);
+            IndexedOrder entry = orderIndex.get(id);
+            if (entry == null) {
+                TRACER.trace(TracePoint.PICKUP_UNKNOWN, id);
                 return Optional.empty();
             }
 
-            KitchenOrder order = found.get();
+            Optional<KitchenOrder> result;
+            EnumSet<Location> locked = EnumSet.of(entry.location());
+            lockLocations(locked);
+            try {
+                if (orderIndex.get(id) != entry) {
+                    continue; // moved, picked up or discarded concurrently, look again
+                }
+
+                KitchenOrder order = entry.order();
+
+                // Expired? Discard it first
+                if (order.hasExpired(now)) {
+                    discardOrder(order, now);
+                    result = Optional.empty();
+                } else {
+                    // Remove from storage
+                    StorageRepository storage = getStorage(entry.location());
+                    boolean removed = removeFromStorage(storage, order);
+                    if (!removed) {
+                        LOGGER.warn("Pickup failed: order {} not found in expected storage {}", id, storage.getName());
+                        return Optional.empty();
+                    }
+                    finishPickup(order, storage.getLocation(), now);
+                    result = Optional.of(order);
+                }
+            } finally {
+                unlockLocations(locked);
+            }
+
+            // Either way a slot was freed; pull a waiting shelf order into it
+            rebalanceInto(entry.location(), now);
+            return result;
+        }
+    }
 
-            // Expired? Discard it first
+    /**
+     * Pick up a wave of couriers' orders at once. The ids are grouped by location through the order
+     * index, every involved location is locked once, and each repository removes its whole group in
+     * a single removeAll. Expired orders are discarded as in pickupOrder. Freed heater and cooler
+     * space is rebalanced once per location after the wave rather than after every pickup, so the
+     * moves recorded can differ from picking the same ids up one at a time.
+     *
+     * Ids that are no longer stored report why, from the discarded order registry. The wave's
+     * latency is recorded once, as pickup wave latency, not as per-pickup latency.
+     *
+     * @return one result per id, in the order given
+     */
+    public List<PickupResult> pickupOrders(List<String> ids, Instant now) {
+        long start = System.nanoTime();
+        PickupResult[] results = new PickupResult[ids.size()];
+        Map<Location, List<IndexedOrder>> byLocation = new EnumMap<>(Location.class);
+        Map<String, Integer> positions = new HashMap<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            PickupStatus discarded = discardedStatus(id, now);
+            IndexedOrder entry = discarded != PickupStatus.UNKNOWN ? null : orderIndex.get(id);
+            if (entry == null || positions.putIfAbsent(id, i) != null) {
+                results[i] = new PickupResult(id, discarded, Optional.empty());
+                continue;
+            }
+            byLocation.computeIfAbsent(entry.location(), l -> new ArrayList<>()).add(entry);
+        }
+
+        List<String> retry = new ArrayList<>();
+        if (!byLocation.isEmpty()) {
+            EnumSet<Location> locked = EnumSet.copyOf(byLocation.keySet());
+            lockLocations(locked);
+            try {
+                for (Map.Entry<Location, List<IndexedOrder>> group : byLocation.entrySet()) {
+                    pickupGroup(getStorage(group.getKey()), group.getValue(), now, positions, results, retry);
+                }
+            } finally {
+                unlockLocations(locked);
+            }
+            for (Location freed : byLocation.keySet()) {
+                rebalanceInto(freed, now);
+            }
+        }
+
+        // Orders that moved between the index lookup and the lock go through the single pickup path
+        for (String id : retry) {
+            Optional<KitchenOrder> order = pickup(id, now);
+            PickupStatus status = order.isPresent() ? PickupStatus.PICKED_UP : discardedStatus(id, now);
+            results[positions.get(id)] = new PickupResult(id, status, order);
+        }
+
+        metrics.recordPickupWaveLatency(System.nanoTime() - start);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Why an id that is not stored was discarded, as the registry remembers it, or UNKNOWN
+     */
+    private PickupStatus discardedStatus(String id, Instant now) {
+        return discardedOrders.reason(id, now)
+                .map(reason -> switch (reason) {
+                    case EXPIRED -> PickupStatus.DISCARDED_EXPIRED;
+                    case OVERFLOW -> PickupStatus.DISCARDED_OVERFLOW;
+                })
+                .orElse(PickupStatus.UNKNOWN);
+    }
+
+    /**
+     * Pick up one location's share of a wave. Caller holds the location's lock.
+     */
+    private void pickupGroup(StorageRepository storage, List<IndexedOrder> group, Instant now,
+                             Map<String, Integer> positions, PickupResult[] results, List<String> retry) {
+        List<String> toRemove = new ArrayList<>(group.size());
+        for (IndexedOrder entry : group) {
+            String id = entry.order().getId();
+            if (orderIndex.get(id) != entry) {
+                retry.add(id); // moved, picked up or discarded concurrently
+            } else {
+                toRemove.add(id);
+            }
+        }
+        if (toRemove.isEmpty()) {
+            return;
+        }
+
+        Location location = storage.getLocation();
+        for (KitchenOrder order : storage.removeAll(toRemove)) {
+            String id = order.getId();
+            removedFromStorage(storage, order);
+            int position = positions.get(id);
             if (order.hasExpired(now)) {
-                discardOrder(order, now);
-                return Optional.empty();
+                finishDiscard(order, location, now);
+                results[position] = new PickupResult(id, PickupStatus.DISCARDED_EXPIRED, Optional.empty());
+            } else {
+                finishPickup(order, location, now);
+                results[position] = new PickupResult(id, PickupStatus.PICKED_UP, Optional.of(order));
             }
+        }
 
-            // Remove from storage
-            StorageRepository storage = getStorage(order.getCurrentLocation());
-            boolean removed = storage.remove(order.getId());
-            if (!removed) {
+        for (String id : toRemove) {
+            int position = positions.get(id);
+            if (results[position] == null) {
                 LOGGER.warn("Pickup failed: order {} not found in expected storage {}", id, storage.getName());
-                return Optional.empty();
+                results[position] = new PickupResult(id, PickupStatus.UNKNOWN, Optional.empty());
             }
+        }
+    }
 
-            // Record pickup action
-            recordAction(now, order, Action.PICKUP, storage.getLocationName());
-            totalOrdersPickedUp++;
+    /**
+     * Advance the expiry wheel to now and discard every order whose deadline has passed,
+     * through the normal discard path. Does nothing when no expiry wheel is configured.
+     *
+     * @return number of orders discarded
+     */
+    public int sweepExpired(Instant now) {
+        if (expiryWheel == null) {
+            return 0;
+        }
+        int discarded = 0;
+        for (String id : expiryWheel.advance(now)) {
+            if (expireOrder(id, now)) {
+                discarded++;
+            }
+        }
+        return discarded;
+    }
 
-            LOGGER.info("Picked up {}", id);
-            return Optional.of(order);
+    /**
+     * Discard the order if it is still stored and has expired at now
+     *
+     * @return true if the order was discarded
+     */
+    public boolean expireOrder(String id, Instant now) {
+        while (true) {
+            IndexedOrder entry = orderIndex.get(id);
+            if (entry == null) {
+                return false; // picked up or discarded already
+            }
 
-        } finally {
-            lock.writeLock().unlock();
+            EnumSet<Location> locked = EnumSet.of(entry.location());
+            lockLocations(locked);
+            try {
+                if (orderIndex.get(id) != entry) {
+                    continue;
+                }
+                KitchenOrder order = entry.order();
+                if (!order.hasExpired(now)) {
+                    // Fired early relative to this instant; keep tracking it
+                    if (expiryWheel != null) {
+                        expiryWheel.schedule(id, order.getExpiryEpochNanos());
+                    }
+                    return false;
+                }
+                discardOrder(order, now);
+            } finally {
+                unlockLocations(locked);
+            }
+            rebalanceInto(entry.location(), now);
+            return true;
         }
     }
 
     /**
-     * Remove KitchenOrder and discard
+     * Remove KitchenOrder and discard. Caller holds the lock of the order's storage.
      */
     private void discardOrder(KitchenOrder order, Instant now) {
         StorageRepository storage = getStorage(order.getCurrentLocation());
-        storage.remove(order.getId());
-        discardedOrderIds.add(order.getId());
+        removeFromStorage(storage, order);
+        finishDiscard(order, storage.getLocation(), now);
+    }
+
+    /**
+     * Bookkeeping for an order discarded from a storage it was already removed from: forget it and
+     * remember why it was discarded. A fresh order can only be discarded to make room.
+     */
+    private void finishDiscard(KitchenOrder order, Location from, Instant now) {
+        forget(order.getId());
+        DiscardReason reason = order.hasExpired(now) ? DiscardReason.EXPIRED : DiscardReason.OVERFLOW;
+        discardedOrders.add(order.getId(), reason, now);
 
-        recordAction(now, order, Action.DISCARD, storage.getLocationName());
-        totalOrdersDiscardedExpired++;
+        recordAction(now, order, ActionType.DISCARD, from);
+        metrics.recordDiscard(from);
+
+        TRACER.trace(TracePoint.DISCARDED, order.getId(), discardStrategy.getName());
+    }
+
+    /**
+     * Bookkeeping for an order picked up from a storage it was already removed from
+     */
+    private void finishPickup(KitchenOrder order, Location from, Instant now) {
+        forget(order.getId());
+        recordAction(now, order, ActionType.PICKUP, from);
+        metrics.recordPickup(from);
+        metrics.recordDwell(KitchenOrder.toEpochNanos(now) - order.getCreatedAtEpochNanos());
+    }
+
+    /**
+     * Drop an order that left the kitchen from the order index and the expiry wheel
+     */
+    private void forget(String id) {
+        orderIndex.remove(id);
+        if (expiryWheel != null) {
+            expiryWheel.cancel(id);
+        }
+    }
 
-        LOGGER.info("Discarded {} via strategy {}", order.getId(), discardStrategy.getName());
+    /**
+     * Find an order given an id using the order index.
+     */
+    public Optional<KitchenOrder> findOrder(String id) {
+        IndexedOrder entry = orderIndex.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.order());
     }
 
     /**
-     * Find an order given an id and search in storage classes.
+     * Consistency check between the order index and the storage repositories.
+     * Every indexed order must be stored at its indexed location, and every stored order must be
+     * indexed. Takes every storage lock, so it is meant for tests and diagnostics, not the hot path.
+     *
+     * @throws IllegalStateException describing every mismatch found
      */
-    private Optional<KitchenOrder> findOrder(String id) {
-        return heaterStorage.findById(id)
-                .or(() -> coolerStorage.findById(id))
-                .or(() -> shelfStorage.findById(id));
+    public void verifyIndexConsistency() {
+        lockLocations(ALL_LOCATIONS);
+        try {
+            List<String> problems = new ArrayList<>();
+            int storedCount = 0;
+
+            for (Location loc : Location.values()) {
+                StorageRepository storage = getStorage(loc);
+                for (KitchenOrder stored : storage.getAllOrders()) {
+                    storedCount++;
+                    IndexedOrder entry = orderIndex.get(stored.getId());
+                    if (entry == null) {
+                        problems.add(String.format("order %s stored in %s but not indexed", stored.getId(), loc));
+                    } else if (entry.location() != loc || entry.order() != stored) {
+                        problems.add(String.format("order %s stored in %s but indexed at %s", stored.getId(), loc, entry.location()));
+                    }
+                }
+            }
+
+            for (IndexedOrder entry : orderIndex.values()) {
+                String id = entry.order().getId();
+                if (getStorage(entry.location()).findById(id).isEmpty()) {
+                    problems.add(String.format("order %s indexed at %s but not stored there", id, entry.location()));
+                }
+                if (entry.order().getCurrentLocation() != entry.location()) {
+                    problems.add(String.format("order %s indexed at %s but reports location %s",
+                            id, entry.location(), entry.order().getCurrentLocation()));
+                }
+            }
+
+            if (storedCount != orderIndex.size()) {
+                problems.add(String.format("index holds %d orders but storages hold %d", orderIndex.size(), storedCount));
+            }
+
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Kitchen order index inconsistent: " + String.join("; ", problems));
+            }
+        } finally {
+            unlockLocations(ALL_LOCATIONS);
+        }
     }
 
     // METRICS
-    public int getTotalOrdersPlaced() { return totalOrdersPlaced; }
-    public int getTotalOrdersPickedUp() { return totalOrdersPickedUp; }
-    public int getTotalOrdersDiscardedExpired() { return totalOrdersDiscardedExpired; }
+    public int getTotalOrdersPlaced() { return (int) metrics.placedCount(); }
+    public int getTotalOrdersPickedUp() { return (int) metrics.pickedUpCount(); }
+    public int getTotalOrdersDiscardedExpired() { return (int) metrics.discardedCount(); }
+    public int getTotalOrdersMoved() { return (int) metrics.movedCount(); }
+
+    public KitchenMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Lock-free snapshot of every counter, gauge and histogram
+     */
+    public MetricsSnapshot metricsSnapshot() {
+        return metrics.snapshot();
+    }
 }
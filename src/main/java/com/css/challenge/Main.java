@@ -1,20 +1,50 @@
 package com.css.challenge;
 
+import com.css.challenge.Actions.ActionJournalReader;
+import com.css.challenge.Actions.JournalRecovery;
+import com.css.challenge.Actions.MappedActionJournal;
 import com.css.challenge.Adapter.OrderAdapter;
+import com.css.challenge.Adapter.OrderFeed;
+import com.css.challenge.Business.FreshnessDecayModel;
 import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Location;
+import com.css.challenge.Expiry.ExpirySweeper;
+import com.css.challenge.Expiry.HierarchicalTimingWheel;
+import com.css.challenge.Harness.DiscreteEventHarness;
 import com.css.challenge.Harness.SimpleHarness;
 import com.css.challenge.Harness.SimpleHarnessResult;
+import com.css.challenge.Harness.VirtualClock;
+import com.css.challenge.Source.LocalProblemServer;
+import com.css.challenge.Source.SyntheticOrderGenerator;
+import com.css.challenge.Source.TraceFileOrderSource;
 import com.css.challenge.Storage.CoolerStorage;
 import com.css.challenge.Storage.HeaterStorage;
 import com.css.challenge.Storage.ShelfStorage;
+import com.css.challenge.Storage.TimeWindowedDiscardedOrderRegistry;
 import com.css.challenge.Strategies.FreshnessDiscardStrategy;
-import com.css.challenge.client.Action;
+import com.css.challenge.Trace.EventTracer;
+import com.css.challenge.Trace.TraceCategory;
+import com.css.challenge.Trace.TraceLevel;
+import com.css.challenge.Validation.ActionValidator;
 import com.css.challenge.client.Client;
+import com.css.challenge.client.Order;
+import com.css.challenge.client.OrderSource;
 import com.css.challenge.client.Problem;
+import com.css.challenge.client.ProblemStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.log4j.Level;
 import org.slf4j.Logger;
@@ -24,8 +54,9 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
 @Command(name = "challenge", showDefaultValues = true)
-public class Main implements Runnable {
+public class Main implements Callable<Integer> {
   private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+  private static final Duration EXPIRY_TICK = Duration.ofMillis(10);
 
   static {
     org.apache.log4j.Logger.getRootLogger().setLevel(Level.OFF);
@@ -53,72 +84,314 @@ public class Main implements Runnable {
   @Option(names = "--max", description = "Maximum pickup time")
   Duration max = Duration.ofSeconds(20);
 
-  @Override
-  public void run() {
-    try {
-      // --- Connect to API ---
-      Client client = new Client(endpoint, auth);
-      Problem problem = client.newProblem(name, seed);
+  @Option(names = "--sweep", description = "Proactive expiry sweep interval (zero disables)")
+  Duration sweep = Duration.ZERO;
+
+  @Option(names = "--virtual", description = "Simulate on a virtual clock instead of real time")
+  boolean virtual = false;
+
+  @Option(names = "--couriers", description = "Pickup scheduling: SCHEDULED_POOL or VIRTUAL_COURIERS")
+  SimpleHarness.PickupMode couriers = SimpleHarness.PickupMode.SCHEDULED_POOL;
+
+  @Option(names = "--shelf-decay", description = "Freshness decay multiplier for hot/cold orders on the shelf")
+  double shelfDecay = 1.0;
+
+  @Option(names = "--stream", description = "Place orders while the problem is still streaming in (real time only)")
+  boolean stream = false;
+
+  @Option(names = "--gzip", description = "Gzip the streamed solution upload")
+  boolean gzip = false;
+
+  @Option(names = "--trace", description = "Trace levels per category, e.g. storage=DEBUG,kitchen=OFF", split = ",")
+  Map<TraceCategory, TraceLevel> trace = Map.of();
 
-      LOGGER.info("=====");
-      LOGGER.info("Problem ID: {}", problem.getTestId());
-      LOGGER.info("Incoming Orders: {}", problem.getOrders().size());
-      LOGGER.info("=====");
+  @Option(names = "--validate", description = "Validate the actions locally before submitting")
+  boolean validate = false;
 
-      // --- Create storage repositories ---
-      HeaterStorage heaterStorage = new HeaterStorage();
-      CoolerStorage coolerStorage = new CoolerStorage();
-      ShelfStorage shelfStorage  = new ShelfStorage();
+  @Option(names = "--local", description = "Fetch and submit against an embedded local problem server")
+  boolean local = false;
 
-      // --- Discard strategy ---
-      FreshnessDiscardStrategy discardStrategy = new FreshnessDiscardStrategy();
+  @Option(names = "--local-orders", description = "Number of synthetic orders per local problem")
+  long localOrders = 100;
+
+  @Option(names = "--order-trace", description = "Read orders from a trace file (.gz for gzip) instead of a server")
+  Path orderTrace;
+
+  @Option(names = "--journal", description = "Record actions to a memory-mapped journal at this base path")
+  Path journal;
+
+  @Option(names = "--journal-segment-size", description = "Bytes each journal file grows by")
+  int journalSegmentSize = MappedActionJournal.DEFAULT_SEGMENT_SIZE;
+
+  @Option(names = "--recover", description = "Restore the kitchen from an existing --journal and run only the orders it has not seen (not with --stream)")
+  boolean recover = false;
+
+  private LocalProblemServer localServer;
+  private MappedActionJournal actionJournal;
+
+  /**
+   * Run the simulation. Failures are returned as exit code 1 rather than exiting on the spot, so
+   * the local server is stopped and the journal forced and closed on every path.
+   */
+  @Override
+  public Integer call() {
+    trace.forEach(EventTracer.global()::setLevel);
+    try {
+      if (recover && (journal == null || (stream && !virtual))) {
+        throw new IOException("--recover needs --journal and cannot be used with --stream");
+      }
+      // --- Connect to API, a local stand-in server or an order trace ---
+      OrderSource source = openSource();
 
       // --- Kitchen instance ---
-      Kitchen kitchen = new Kitchen(heaterStorage, coolerStorage, shelfStorage, discardStrategy);
+      Clock clock = virtual ? new VirtualClock(Instant.now()) : Clock.systemUTC();
+      openJournal();
+      Kitchen kitchen = buildKitchen(clock);
       LOGGER.info("Kitchen initialized");
 
-      // --- Convert problem orders → domain orders ---
-      Instant simulationNow = Instant.now();
-      List<KitchenOrder> orders = problem.getOrders().stream()
-              .map(o -> OrderAdapter.toDomain(o, simulationNow))
-              .toList();
+      // --- Harness ---
+      String testId;
+      SimpleHarnessResult result;
+      if (stream && !virtual) {
+        // Orders are parsed and placed while the problem is still downloading
+        // Filled by the feed's reader thread; read only after the feed has ended
+        List<Order> streamedOrders = new ArrayList<>();
+        try (ProblemStream problem = source.openProblem(name, seed);
+            OrderFeed feed = new OrderFeed(recording(problem.getOrders(), streamedOrders), clock)) {
+          testId = problem.getTestId();
 
-      LOGGER.info("Converted {} scaffold orders to domain orders", orders.size());
+          LOGGER.info("=====");
+          LOGGER.info("Problem ID: {}", testId);
+          LOGGER.info("Incoming Orders: streamed");
+          LOGGER.info("=====");
 
-      // --- Harness ---
-      SimpleHarness harness =
-              new SimpleHarness(kitchen, rate, min, max);
+          logStart();
+          result = runRealTime(kitchen, clock, feed);
+        }
+        if (validate) {
+          validate(kitchen, streamedOrders);
+        }
+      } else {
+        Problem problem = source.newProblem(name, seed);
+        testId = problem.getTestId();
 
-      LOGGER.info(
-              "Starting simulation: rate={}ms, pickup={}-{} sec",
-              rate.toMillis(), min.toSeconds(), max.toSeconds()
-      );
+        LOGGER.info("=====");
+        LOGGER.info("Problem ID: {}", testId);
+        LOGGER.info("Incoming Orders: {}", problem.getOrders().size());
+        LOGGER.info("=====");
 
-      // Run the local simulation
-      SimpleHarnessResult result = harness.run(orders);
+        // --- Convert problem orders → domain orders ---
+        Instant simulationNow = Instant.now();
+        List<KitchenOrder> orders = problem.getOrders().stream()
+                .map(o -> OrderAdapter.toDomain(o, simulationNow))
+                .toList();
 
-      List<Action> actions = result.getActions();
-      LOGGER.info("Simulation produced {} actions", actions.size());
+        LOGGER.info("Converted {} scaffold orders to domain orders", orders.size());
+        if (recover) {
+          orders = recoverFromJournal(kitchen, clock, orders);
+        }
 
-      // --- Submit actions to server ---
+        logStart();
+        if (virtual) {
+          // Expiry events are part of the simulated timeline, so no background sweeper is needed
+          DiscreteEventHarness harness = new DiscreteEventHarness(
+                  kitchen, rate, min, max, seed, !sweep.isZero(), (VirtualClock) clock);
+          result = harness.run(orders);
+        } else {
+          result = runRealTime(kitchen, clock, orders.iterator());
+        }
+
+        if (validate) {
+          validate(kitchen, problem.getOrders());
+        }
+      }
+
+      LOGGER.info("Simulation produced {} actions", result.getActionsCount());
+      LOGGER.info("Pickup lag: {}", result.getPickupLag());
+      LOGGER.info("Kitchen metrics: {}", kitchen.metricsSnapshot());
+      EventTracer.global().flush();
+
+      // --- Submit actions to server, streamed straight from the kitchen's action store ---
       LOGGER.info("Submitting actions...");
-      String response = client.solveProblem(
-              problem.getTestId(),
+      String response = source.solveProblem(
+              testId,
               rate,
               min,
               max,
-              actions
+              kitchen.streamActions(),
+              gzip
       );
 
       LOGGER.info("Server Response: {}", response);
+      return 0;
 
     } catch (IOException e) {
       LOGGER.error("Simulation failed: {}", e.getMessage());
-      System.exit(1);
+      return 1;
+    } finally {
+      if (localServer != null) {
+        localServer.close();
+      }
+      closeJournal();
+    }
+  }
+
+  /**
+   * Open --journal as the kitchen's action sink. A journal that already holds actions is only
+   * accepted with --recover: appending to it otherwise would submit a previous run's actions too.
+   */
+  private void openJournal() throws IOException {
+    if (journal == null) {
+      return;
+    }
+    try {
+      actionJournal = new MappedActionJournal(journal, journalSegmentSize);
+    } catch (IllegalArgumentException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+    if (actionJournal.nextSequence() > 0 && !recover) {
+      throw new IOException("Journal " + journal + " already holds " + actionJournal.nextSequence()
+              + " actions; pass --recover to resume it or choose a new path");
+    }
+    LOGGER.info("Recording actions to journal {}", journal);
+  }
+
+  /**
+   * Restore the kitchen from the journal and return the orders it has not seen yet. Restored orders
+   * are not picked up again: their couriers belonged to the interrupted run. A virtual clock is moved
+   * past the journal's last action so the resumed run's timestamps keep increasing.
+   */
+  private List<KitchenOrder> recoverFromJournal(Kitchen kitchen, Clock clock, List<KitchenOrder> orders)
+          throws IOException {
+    Map<String, KitchenOrder> ordersById = new HashMap<>();
+    for (KitchenOrder order : orders) {
+      ordersById.put(order.getId(), order);
+    }
+    Set<String> seen = new HashSet<>();
+    try (ActionJournalReader reader = new ActionJournalReader(journal)) {
+      JournalRecovery.Result recovered = JournalRecovery.replay(reader, ordersById, kitchen);
+      LOGGER.info("Recovered from journal: {}", recovered);
+      Instant last = Instant.EPOCH.plus(recovered.lastTimestampMicros(), ChronoUnit.MICROS);
+      if (clock instanceof VirtualClock virtualClock && recovered.records() > 0 && last.isAfter(clock.instant())) {
+        virtualClock.advanceTo(last);
+      }
+      for (int ref = 0; ref < reader.getIdCount(); ref++) {
+        seen.add(reader.id(ref));
+      }
+    }
+    return orders.stream()
+            .filter(order -> !seen.contains(order.getId()))
+            .toList();
+  }
+
+  private void closeJournal() {
+    if (actionJournal == null) {
+      return;
+    }
+    try {
+      actionJournal.close();
+    } catch (IOException e) {
+      LOGGER.error("Closing journal {} failed: {}", journal, e.getMessage());
+    }
+  }
+
+  private OrderSource openSource() throws IOException {
+    if (orderTrace != null) {
+      return new TraceFileOrderSource(orderTrace);
+    }
+    if (local) {
+      SyntheticOrderGenerator generator = SyntheticOrderGenerator.builder()
+              .count(localOrders)
+              .build();
+      localServer = new LocalProblemServer(0, generator).start();
+      return new Client(localServer.getEndpoint(), auth);
+    }
+    return new Client(endpoint, auth);
+  }
+
+  private Kitchen buildKitchen(Clock clock) {
+    // --- Create storage repositories ---
+    HeaterStorage heaterStorage = new HeaterStorage();
+    CoolerStorage coolerStorage = new CoolerStorage();
+    ShelfStorage shelfStorage  = new ShelfStorage();
+
+    // --- Discard strategy ---
+    FreshnessDiscardStrategy discardStrategy = new FreshnessDiscardStrategy();
+
+    Kitchen.Builder kitchenBuilder = Kitchen.builder()
+            .heater(heaterStorage)
+            .cooler(coolerStorage)
+            .shelf(shelfStorage)
+            .discardStrategy(discardStrategy)
+            // A courier arrives at most max after placement, so older discards can be forgotten
+            .discardedOrders(new TimeWindowedDiscardedOrderRegistry(max))
+            .decayModel(decayModel());
+    if (actionJournal != null) {
+      kitchenBuilder.actionSink(actionJournal);
+    }
+    if (!sweep.isZero()) {
+      kitchenBuilder.expiryWheel(new HierarchicalTimingWheel(EXPIRY_TICK, clock.instant()));
+    }
+    return kitchenBuilder.build();
+  }
+
+  // Check the run the way the server will before submitting it
+  private void validate(Kitchen kitchen, List<Order> orders) {
+    ActionValidator validator = ActionValidator.builder()
+            .decayModel(decayModel())
+            .build(orders);
+    kitchen.getActionSink().forEachRecordSince(kitchen.getActionSink().firstRetainedSequence(), validator);
+    LOGGER.info("Local validation: {}", validator.report());
+  }
+
+  // Pass the orders through, keeping each one for validation when --validate is set
+  private Iterator<Order> recording(Iterator<Order> orders, List<Order> seen) {
+    if (!validate) {
+      return orders;
+    }
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return orders.hasNext();
+      }
+
+      @Override
+      public Order next() {
+        Order order = orders.next();
+        seen.add(order);
+        return order;
+      }
+    };
+  }
+
+  private FreshnessDecayModel decayModel() {
+    return FreshnessDecayModel.builder()
+            .nonIdealMultiplier(Location.SHELF, shelfDecay)
+            .build();
+  }
+
+  private void logStart() {
+    LOGGER.info(
+            "Starting simulation: rate={}ms, pickup={}-{} sec",
+            rate.toMillis(), min.toSeconds(), max.toSeconds()
+    );
+  }
+
+  // Run the local simulation in real time, sweeping expired orders in the background if enabled
+  private SimpleHarnessResult runRealTime(Kitchen kitchen, Clock clock, Iterator<KitchenOrder> orders) {
+    SimpleHarness harness = new SimpleHarness(kitchen, rate, min, max, clock, couriers);
+    if (sweep.isZero()) {
+      return harness.run(orders);
+    }
+    try (ExpirySweeper sweeper = new ExpirySweeper(kitchen, sweep, clock)) {
+      sweeper.start();
+      SimpleHarnessResult result = harness.run(orders);
+      LOGGER.info("Expiry sweeper discarded {} orders", sweeper.getTotalExpired());
+      return result;
     }
   }
 
   public static void main(String[] args) {
-    new CommandLine(new Main()).execute(args);
+    System.exit(new CommandLine(new Main()).execute(args));
   }
 }
@@ -0,0 +1,29 @@
+package com.css.challenge.Metrics;
+
+/**
+ * Immutable summary of a LatencyHistogram, all values in nanoseconds
+ */
+public record HistogramSnapshot(long count, long min, long max, long mean,
+                                long p50, long p90, long p99, long p999) {
+
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0, 0);
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%s p50=%s p90=%s p99=%s p99.9=%s max=%s",
+                count, format(mean), format(p50), format(p90), format(p99), format(p999), format(max));
+    }
+
+    private static String format(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1fus", nanos / 1_000.0);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format("%.2fs", nanos / 1_000_000_000.0);
+    }
+}
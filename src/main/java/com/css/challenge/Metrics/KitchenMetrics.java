@@ -0,0 +1,137 @@
+package com.css.challenge.Metrics;
+
+import com.css.challenge.Business.Location;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KitchenMetrics collects the kitchen's counters, gauges and latency histograms.
+ *
+ * Counters are striped LongAdders per action type and location, so concurrent placements and
+ * pickups in different storages never contend on one cache line. Occupancy gauges are updated
+ * by the kitchen as orders enter and leave a storage (under that storage's lock), rather than
+ * read from the storage, so snapshots never take a storage lock. Every read is lock-free: a
+ * snapshot can be taken at any time from any thread without slowing down the hot path.
+ */
+public class KitchenMetrics {
+
+    private static final Location[] LOCATIONS = Location.values();
+
+    private final LongAdder[] placed = adders();
+    private final LongAdder[] moved = adders();
+    private final LongAdder[] pickedUp = adders();
+    private final LongAdder[] discarded = adders();
+
+    private final AtomicLong[] occupancy = gauges();
+    private final AtomicLong[] highWaterMarks = gauges();
+    private final int[] capacities = new int[LOCATIONS.length];
+
+    private final LatencyHistogram placeLatency = new LatencyHistogram();
+    private final LatencyHistogram pickupLatency = new LatencyHistogram();
+    private final LatencyHistogram pickupWaveLatency = new LatencyHistogram();
+    private final LatencyHistogram lockWait = new LatencyHistogram();
+    private final LatencyHistogram dwell = new LatencyHistogram();
+
+    /**
+     * Capacity reported alongside a location's occupancy
+     */
+    public void registerCapacity(Location location, int capacity) {
+        capacities[location.ordinal()] = capacity;
+    }
+
+    public void recordPlace(Location location) {
+        placed[location.ordinal()].increment();
+    }
+
+    public void recordMove(Location to) {
+        moved[to.ordinal()].increment();
+    }
+
+    public void recordPickup(Location from) {
+        pickedUp[from.ordinal()].increment();
+    }
+
+    public void recordDiscard(Location from) {
+        discarded[from.ordinal()].increment();
+    }
+
+    // Occupancy gauges
+    public void orderStored(Location location) {
+        long current = occupancy[location.ordinal()].incrementAndGet();
+        AtomicLong highWaterMark = highWaterMarks[location.ordinal()];
+        if (current > highWaterMark.get()) {
+            highWaterMark.accumulateAndGet(current, Math::max);
+        }
+    }
+
+    public void orderRemoved(Location location) {
+        occupancy[location.ordinal()].decrementAndGet();
+    }
+
+    // Latencies, all in nanoseconds
+    public void recordPlaceLatency(long nanos) { placeLatency.record(nanos); }
+    public void recordPickupLatency(long nanos) { pickupLatency.record(nanos); }
+    public void recordPickupWaveLatency(long nanos) { pickupWaveLatency.record(nanos); }
+    public void recordLockWait(long nanos) { lockWait.record(nanos); }
+    public void recordDwell(long nanos) { dwell.record(nanos); }
+
+    public long placedCount() { return total(placed); }
+    public long movedCount() { return total(moved); }
+    public long pickedUpCount() { return total(pickedUp); }
+    public long discardedCount() { return total(discarded); }
+
+    public MetricsSnapshot snapshot() {
+        Map<Location, MetricsSnapshot.Occupancy> occupancies = new EnumMap<>(Location.class);
+        for (Location location : LOCATIONS) {
+            int i = location.ordinal();
+            occupancies.put(location, new MetricsSnapshot.Occupancy(
+                    occupancy[i].get(), highWaterMarks[i].get(), capacities[i]));
+        }
+        return new MetricsSnapshot(
+                counts(placed),
+                counts(moved),
+                counts(pickedUp),
+                counts(discarded),
+                occupancies,
+                placeLatency.snapshot(),
+                pickupLatency.snapshot(),
+                pickupWaveLatency.snapshot(),
+                lockWait.snapshot(),
+                dwell.snapshot());
+    }
+
+    private static Map<Location, Long> counts(LongAdder[] adders) {
+        Map<Location, Long> counts = new EnumMap<>(Location.class);
+        for (Location location : LOCATIONS) {
+            counts.put(location, adders[location.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    private static long total(LongAdder[] adders) {
+        long total = 0;
+        for (LongAdder adder : adders) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[LOCATIONS.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static AtomicLong[] gauges() {
+        AtomicLong[] gauges = new AtomicLong[LOCATIONS.length];
+        for (int i = 0; i < gauges.length; i++) {
+            gauges[i] = new AtomicLong();
+        }
+        return gauges;
+    }
+}
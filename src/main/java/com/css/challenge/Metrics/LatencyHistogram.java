@@ -0,0 +1,107 @@
+package com.css.challenge.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, HDR-style latency histogram over non-negative nanosecond values.
+ *
+ * Values below 2 * SUB_BUCKETS get one exact bucket each. Above that every power of two is split
+ * into SUB_BUCKETS linear sub-buckets, so any recorded value is reported within about 3% (1/32)
+ * of its true value from a fixed array of under 2k counters, however large the values get.
+ * record is a handful of atomic adds and never allocates or blocks. snapshot reads the counters
+ * without stopping writers, so a snapshot taken under load may be off by the few in-flight records.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    // Shifts 1..57 cover every positive long
+    private static final int MAX_SHIFT = 63 - SUB_BUCKET_BITS - 1;
+    private static final int BUCKETS = LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record one latency; negative values are clamped to zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        // Only CAS when the extreme actually moves, so steady-state records never contend here
+        if (value < minNanos.get()) {
+            minNanos.accumulateAndGet(value, Math::min);
+        }
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Point-in-time copy of the histogram
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        if (count == 0) {
+            return HistogramSnapshot.EMPTY;
+        }
+        long max = maxNanos.get();
+        return new HistogramSnapshot(
+                count,
+                minNanos.get(),
+                max,
+                totalNanos.sum() / Math.max(1, totalCount.sum()),
+                percentile(copy, count, max, 0.50),
+                percentile(copy, count, max, 0.90),
+                percentile(copy, count, max, 0.99),
+                percentile(copy, count, max, 0.999));
+    }
+
+    /**
+     * Highest value equivalent to the bucket holding the given quantile, capped at the recorded max
+     */
+    private static long percentile(long[] copy, long count, long max, double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return Math.min(max, highestEquivalentValue(i));
+            }
+        }
+        return max;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
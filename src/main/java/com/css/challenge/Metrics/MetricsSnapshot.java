@@ -0,0 +1,50 @@
+package com.css.challenge.Metrics;
+
+import com.css.challenge.Business.Location;
+
+import java.util.Map;
+
+/**
+ * Immutable copy of the kitchen metrics at one point in time.
+ * Counter maps are keyed by the location the action targeted. Pickup latency is per single pickup;
+ * a pickupOrders wave is timed as a whole in pickupWaveLatency.
+ */
+public record MetricsSnapshot(
+        Map<Location, Long> placed,
+        Map<Location, Long> moved,
+        Map<Location, Long> pickedUp,
+        Map<Location, Long> discarded,
+        Map<Location, Occupancy> occupancy,
+        HistogramSnapshot placeLatency,
+        HistogramSnapshot pickupLatency,
+        HistogramSnapshot pickupWaveLatency,
+        HistogramSnapshot lockWait,
+        HistogramSnapshot dwell) {
+
+    /**
+     * Orders currently held by a storage, the most it has held at once, and its capacity
+     */
+    public record Occupancy(long current, long highWaterMark, int capacity) {}
+
+    public long totalPlaced() { return sum(placed); }
+    public long totalMoved() { return sum(moved); }
+    public long totalPickedUp() { return sum(pickedUp); }
+    public long totalDiscarded() { return sum(discarded); }
+
+    private static long sum(Map<Location, Long> counts) {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "placed=%s moved=%s pickedUp=%s discarded=%s occupancy=%s%n"
+                        + "  place:  %s%n  pickup: %s%n  wave:   %s%n  lock:   %s%n  dwell:  %s",
+                placed, moved, pickedUp, discarded, occupancy, placeLatency, pickupLatency, pickupWaveLatency,
+                lockWait, dwell);
+    }
+}
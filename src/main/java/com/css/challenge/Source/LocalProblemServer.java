@@ -0,0 +1,196 @@
+package com.css.challenge.Source;
+
+import com.css.challenge.Validation.ActionValidator;
+import com.css.challenge.Validation.ValidationReport;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * LocalProblemServer is an embedded stand-in for the challenge server, so the whole
+ * fetch-simulate-submit loop runs on an isolated machine. Point a Client at getEndpoint().
+ *
+ *   - GET  /interview/challenge/new?name=&amp;seed=  streams a synthetic problem (x-test-id header)
+ *   - POST /interview/challenge/solve              checks the submitted solution (gzip accepted)
+ *
+ * Problems are not stored: the server remembers each test's generator until its solution arrives
+ * and regenerates the orders to check it. Submitted actions are parsed as they stream in and fed to an
+ * ActionValidator (default capacities, uniform decay); the response is its report and score.
+ */
+public class LocalProblemServer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalProblemServer.class);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final SyntheticOrderGenerator generator;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, SyntheticOrderGenerator> problems = new ConcurrentHashMap<>();
+    private final AtomicLong nextTestId = new AtomicLong();
+
+    /**
+     * @param port      port to listen on, 0 for any free port
+     * @param generator shape of the served problems; each request's seed replaces the generator's
+     */
+    public LocalProblemServer(int port, SyntheticOrderGenerator generator) throws IOException {
+        this.generator = generator;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/interview/challenge/new", this::handleNew);
+        server.createContext("/interview/challenge/solve", this::handleSolve);
+        server.setExecutor(executor);
+    }
+
+    public LocalProblemServer start() {
+        server.start();
+        LOGGER.info("Local problem server listening on {}", getEndpoint());
+        return this;
+    }
+
+    public String getEndpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handleNew(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        long seed;
+        try {
+            seed = Long.parseLong(query.getOrDefault("seed", "0"));
+        } catch (NumberFormatException e) {
+            try (exchange) {
+                respond(exchange, 400, "invalid seed: " + e.getMessage());
+            }
+            return;
+        }
+        try (exchange) {
+            SyntheticOrderGenerator problem = generator.withSeed(seed);
+            String testId = "local-" + nextTestId.incrementAndGet();
+            problems.put(testId, problem);
+
+            exchange.getResponseHeaders().add("x-test-id", testId);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            long count = OrderTraceFiles.write(new BufferedOutputStream(exchange.getResponseBody()), problem.iterator());
+            LOGGER.info("Served problem {} ({}, seed={}): {} orders", testId, query.get("name"), seed, count);
+        }
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String testId = exchange.getRequestHeaders().getFirst("x-test-id");
+            // A test is solved once, so its generator is forgotten whatever the outcome
+            SyntheticOrderGenerator problem = testId == null ? null : problems.remove(testId);
+            if (problem == null) {
+                respond(exchange, 404, "unknown test id: " + testId);
+                return;
+            }
+            InputStream body = exchange.getRequestBody();
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                body = new GZIPInputStream(body);
+            }
+            ValidationReport report;
+            try {
+                report = check(body, problem);
+            } catch (IOException e) {
+                respond(exchange, 400, "malformed solution: " + e.getMessage());
+                return;
+            }
+            LOGGER.info("Checked solution for {}: {}", testId, report);
+            respond(exchange, 200, report.toString());
+        }
+    }
+
+    /**
+     * Validate a submitted solution in one streaming pass, regenerating the problem's orders
+     */
+    private static ValidationReport check(InputStream body, SyntheticOrderGenerator problem) throws IOException {
+        ActionValidator validator = ActionValidator.builder().build(problem);
+        try (JsonParser json = JSON.createParser(body)) {
+            expect(json.nextToken(), JsonToken.START_OBJECT);
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.currentName();
+                JsonToken value = json.nextToken();
+                if (!"actions".equals(field)) {
+                    json.skipChildren();
+                    continue;
+                }
+                expect(value, JsonToken.START_ARRAY);
+                while (json.nextToken() == JsonToken.START_OBJECT) {
+                    long timestamp = 0;
+                    String id = null;
+                    String action = null;
+                    String target = null;
+                    while (json.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = json.currentName();
+                        json.nextToken();
+                        switch (name) {
+                            case "timestamp" -> timestamp = json.getLongValue();
+                            case "id" -> id = json.getText();
+                            case "action" -> action = json.getText();
+                            case "target" -> target = json.getText();
+                            default -> json.skipChildren();
+                        }
+                    }
+                    validator.accept(timestamp, id, action, target);
+                }
+            }
+        }
+        return validator.report();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("expected " + expected + " but found " + actual);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
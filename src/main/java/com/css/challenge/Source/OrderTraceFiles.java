@@ -0,0 +1,104 @@
+package com.css.challenge.Source;
+
+import com.css.challenge.client.Order;
+import com.css.challenge.client.OrderReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes order traces: files holding a JSON array of orders in the same shape the
+ * challenge server sends. Files ending in .gz are gzip compressed. Both directions stream one order
+ * at a time, so trace size is limited by disk rather than heap.
+ *
+ * Run as a program to write a synthetic trace:
+ * <pre>
+ *   java ... com.css.challenge.Source.OrderTraceFiles orders.json.gz [count] [seed]
+ * </pre>
+ */
+public final class OrderTraceFiles {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private OrderTraceFiles() {}
+
+    public static boolean isCompressed(Path path) {
+        return path.getFileName().toString().endsWith(".gz");
+    }
+
+    /**
+     * Open a trace for reading; close the reader when done
+     */
+    public static OrderReader open(Path path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_BYTES);
+        try {
+            return new OrderReader(isCompressed(path) ? new GZIPInputStream(in, BUFFER_BYTES) : in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Write the orders as a trace, replacing any existing file
+     *
+     * @return the number of orders written
+     */
+    public static long write(Path path, Iterator<Order> orders) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_BYTES);
+        return write(isCompressed(path) ? new GZIPOutputStream(out, BUFFER_BYTES) : out, orders);
+    }
+
+    /**
+     * Write the orders as a JSON array to the stream and close it
+     *
+     * @return the number of orders written
+     */
+    public static long write(OutputStream out, Iterator<Order> orders) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartArray();
+            while (orders.hasNext()) {
+                Order order = orders.next();
+                json.writeStartObject();
+                json.writeStringField("id", order.getId());
+                json.writeStringField("name", order.getName());
+                json.writeStringField("temp", order.getTemp());
+                json.writeNumberField("price", order.getPrice());
+                json.writeNumberField("freshness", order.getFreshness());
+                json.writeEndObject();
+                count++;
+            }
+            json.writeEndArray();
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: OrderTraceFiles <path[.gz]> [count] [seed]");
+            System.exit(2);
+        }
+        Path path = Path.of(args[0]);
+        SyntheticOrderGenerator.Builder generator = SyntheticOrderGenerator.builder();
+        if (args.length > 1) {
+            generator.count(Long.parseLong(args[1]));
+        }
+        if (args.length > 2) {
+            generator.seed(Long.parseLong(args[2]));
+        }
+        long count = write(path, generator.build().iterator());
+        System.out.printf("Wrote %d orders to %s%n", count, path);
+    }
+}
@@ -0,0 +1,211 @@
+package com.css.challenge.Source;
+
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.client.Order;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * SyntheticOrderGenerator describes a synthetic problem: how many orders, the mix of
+ * temperatures, and how freshness and price are distributed.
+ *
+ * Orders are generated lazily while iterating, so millions of orders cost no memory up front.
+ * Every iterator starts from the same seed, so iterating twice gives the same orders (the local
+ * server relies on this to validate a submission without storing the problem).
+ * Ids are the order index in base 36 prefixed with "o".
+ */
+public class SyntheticOrderGenerator implements Iterable<Order> {
+
+    /**
+     * How freshness is drawn between the minimum and maximum
+     */
+    public enum FreshnessDistribution {
+        // every value in the range equally likely
+        UNIFORM,
+        // bell curve around the middle of the range, clamped to it
+        NORMAL,
+        // mostly short-lived orders with a long tail, clamped to the range
+        EXPONENTIAL;
+
+        long sample(SplittableRandom random, long min, long max) {
+            long span = max - min;
+            if (span == 0) {
+                return min;
+            }
+            double value = switch (this) {
+                case UNIFORM -> min + random.nextDouble() * (span + 1);
+                case NORMAL -> min + span / 2.0 + random.nextGaussian() * span / 6.0;
+                case EXPONENTIAL -> min - Math.log(1 - random.nextDouble()) * span / 4.0;
+            };
+            return Math.max(min, Math.min(max, (long) value));
+        }
+    }
+
+    private static final String[] HOT_NAMES = {"Cheese Pizza", "Ramen", "Beef Stew", "Burrito", "Pad Thai"};
+    private static final String[] COLD_NAMES = {"Ice Cream", "Poke Bowl", "Caesar Salad", "Sushi", "Yogurt"};
+    private static final String[] ROOM_NAMES = {"Bagel", "Cookies", "Banana", "Chips", "Croissant"};
+
+    private final long count;
+    private final long seed;
+    private final double hotWeight;
+    private final double coldWeight;
+    private final double roomWeight;
+    private final long minFreshnessSeconds;
+    private final long maxFreshnessSeconds;
+    private final FreshnessDistribution freshnessDistribution;
+    private final int minPrice;
+    private final int maxPrice;
+
+    private SyntheticOrderGenerator(Builder builder) {
+        this.count = builder.count;
+        this.seed = builder.seed;
+        this.hotWeight = builder.hotWeight;
+        this.coldWeight = builder.coldWeight;
+        this.roomWeight = builder.roomWeight;
+        this.minFreshnessSeconds = builder.minFreshness.toSeconds();
+        this.maxFreshnessSeconds = builder.maxFreshness.toSeconds();
+        this.freshnessDistribution = builder.freshnessDistribution;
+        this.minPrice = builder.minPrice;
+        this.maxPrice = builder.maxPrice;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The same problem with a different seed
+     */
+    public SyntheticOrderGenerator withSeed(long seed) {
+        return toBuilder().seed(seed).build();
+    }
+
+    /**
+     * The same problem with a different number of orders
+     */
+    public SyntheticOrderGenerator withCount(long count) {
+        return toBuilder().count(count).build();
+    }
+
+    private Builder toBuilder() {
+        return builder()
+                .count(count)
+                .seed(seed)
+                .temperatureMix(hotWeight, coldWeight, roomWeight)
+                .freshness(Duration.ofSeconds(minFreshnessSeconds), Duration.ofSeconds(maxFreshnessSeconds), freshnessDistribution)
+                .price(minPrice, maxPrice);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public static String orderId(long index) {
+        return "o" + Long.toString(index, 36);
+    }
+
+    @Override
+    public Iterator<Order> iterator() {
+        return new Iterator<>() {
+            private final SplittableRandom random = new SplittableRandom(seed);
+            private final double total = hotWeight + coldWeight + roomWeight;
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Order next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                double pick = random.nextDouble() * total;
+                Temperature temperature = pick < hotWeight ? Temperature.HOT
+                        : pick < hotWeight + coldWeight ? Temperature.COLD
+                        : Temperature.ROOM;
+                String[] names = switch (temperature) {
+                    case HOT -> HOT_NAMES;
+                    case COLD -> COLD_NAMES;
+                    case ROOM -> ROOM_NAMES;
+                };
+                String name = names[random.nextInt(names.length)];
+                int price = minPrice + random.nextInt(maxPrice - minPrice + 1);
+                long freshness = freshnessDistribution.sample(random, minFreshnessSeconds, maxFreshnessSeconds);
+                return new Order(orderId(index++), name, temperature.getValue(), price, (int) freshness);
+            }
+        };
+    }
+
+    public static class Builder {
+        private long count = 1_000;
+        private long seed = new Random().nextLong();
+        private double hotWeight = 1;
+        private double coldWeight = 1;
+        private double roomWeight = 1;
+        private Duration minFreshness = Duration.ofSeconds(10);
+        private Duration maxFreshness = Duration.ofSeconds(300);
+        private FreshnessDistribution freshnessDistribution = FreshnessDistribution.UNIFORM;
+        private int minPrice = 1;
+        private int maxPrice = 30;
+
+        public Builder count(long count) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Order count must not be negative: " + count);
+            }
+            this.count = count;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Relative weights of hot, cold and room temperature orders, e.g. (2, 1, 1) for half hot
+         */
+        public Builder temperatureMix(double hot, double cold, double room) {
+            if (hot < 0 || cold < 0 || room < 0 || hot + cold + room <= 0) {
+                throw new IllegalArgumentException(
+                        String.format("Temperature weights must be non-negative and not all zero: %s/%s/%s", hot, cold, room));
+            }
+            this.hotWeight = hot;
+            this.coldWeight = cold;
+            this.roomWeight = room;
+            return this;
+        }
+
+        public Builder freshness(Duration min, Duration max, FreshnessDistribution distribution) {
+            if (min.toSeconds() < 1 || max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("Invalid freshness range: " + min + " to " + max);
+            }
+            this.minFreshness = min;
+            this.maxFreshness = max;
+            this.freshnessDistribution = distribution;
+            return this;
+        }
+
+        public Builder price(int min, int max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException("Invalid price range: " + min + " to " + max);
+            }
+            this.minPrice = min;
+            this.maxPrice = max;
+            return this;
+        }
+
+        public SyntheticOrderGenerator build() {
+            return new SyntheticOrderGenerator(this);
+        }
+    }
+}
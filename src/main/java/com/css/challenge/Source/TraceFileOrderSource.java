@@ -0,0 +1,56 @@
+package com.css.challenge.Source;
+
+import com.css.challenge.client.ActionStream;
+import com.css.challenge.client.OrderSource;
+import com.css.challenge.client.ProblemStream;
+import com.css.challenge.client.SolutionWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * TraceFileOrderSource replays an order trace file (see OrderTraceFiles) instead of fetching a
+ * problem from a server, for fully offline runs. The problem name and seed are ignored and the
+ * test id is the trace's file name without .json/.gz. Solutions are written next to the trace as
+ * &lt;test id&gt;.solution.json, gzipped when requested.
+ */
+public class TraceFileOrderSource implements OrderSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TraceFileOrderSource.class);
+
+    private final Path trace;
+    private final String testId;
+
+    public TraceFileOrderSource(Path trace) {
+        this.trace = trace;
+        String name = trace.getFileName().toString();
+        name = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+        this.testId = name.endsWith(".json") ? name.substring(0, name.length() - 5) : name;
+    }
+
+    @Override
+    public ProblemStream openProblem(String name, long seed) throws IOException {
+        LOGGER.info("Reading orders from trace {}", trace);
+        return new ProblemStream(testId, OrderTraceFiles.open(trace));
+    }
+
+    @Override
+    public String solveProblem(String testId, Duration rate, Duration min, Duration max, ActionStream actions, boolean gzip)
+            throws IOException {
+        Path solution = trace.resolveSibling(testId + ".solution.json" + (gzip ? ".gz" : ""));
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(solution));
+        if (gzip) {
+            out = new GZIPOutputStream(out);
+        }
+        long count = SolutionWriter.write(out, rate, min, max, actions);
+        LOGGER.info("Wrote solution for {} to {}", testId, solution);
+        return String.format("wrote %d actions to %s", count, solution);
+    }
+}
@@ -0,0 +1,27 @@
+package com.css.challenge.Storage;
+
+import com.css.challenge.Business.DiscardReason;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Remembers which order ids the kitchen discarded and why, so a later pickup for one of them can be
+ * rejected quickly without treating it as an unknown order.
+ */
+public interface DiscardedOrderRegistry {
+
+    //remember that the order was discarded for the given reason at the given time
+    void add(String orderId, DiscardReason reason, Instant discardedAt);
+
+    //why the order was discarded, if it was and is still remembered at now
+    Optional<DiscardReason> reason(String orderId, Instant now);
+
+    //whether the order was discarded and is still remembered at now
+    default boolean contains(String orderId, Instant now) {
+        return reason(orderId, now).isPresent();
+    }
+
+    //number of ids currently remembered
+    int size();
+}
@@ -0,0 +1,258 @@
+package com.css.challenge.Storage;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of values ordered by an absolute expiry deadline, indexed by order id.
+ * Each node remembers its slot in the heap array, so removal by id is O(log n) instead of the
+ * O(n) search PriorityQueue.remove(Object) does. Peeking the earliest deadline is O(1).
+ * Ties are broken by insertion sequence so the ordering is deterministic.
+ *
+ * Deadlines are absolute instants (epoch nanos), so the ordering never needs refreshing as time passes.
+ * Not thread safe: the owning storage guards it.
+ *
+ * @param <T> the stored value type
+ */
+public class IndexedExpiryHeap<T> {
+
+    private static final class Node<T> {
+        final String id;
+        final T value;
+        final long deadline;
+        final long sequence;
+        int index;
+
+        Node(String id, T value, long deadline, long sequence) {
+            this.id = id;
+            this.value = value;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+    }
+
+    private final Map<String, Node<T>> nodesById = new HashMap<>();
+    private Node<T>[] heap;
+    private int size;
+    private long nextSequence;
+    private int modCount;
+
+    @SuppressWarnings("unchecked")
+    public IndexedExpiryHeap(int initialCapacity) {
+        this.heap = (Node<T>[]) new Node<?>[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Add a value under the given id. An existing entry with the same id is replaced.
+     */
+    public void add(String id, T value, long deadline) {
+        remove(id);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        Node<T> node = new Node<>(id, value, deadline, nextSequence++);
+        node.index = size;
+        heap[size++] = node;
+        nodesById.put(id, node);
+        siftUp(node.index);
+        modCount++;
+    }
+
+    /**
+     * Remove the value stored under the id in O(log n)
+     *
+     * @return the removed value, or null if the id is not present
+     */
+    public T remove(String id) {
+        Node<T> node = nodesById.remove(id);
+        if (node == null) {
+            return null;
+        }
+        int index = node.index;
+        size--;
+        modCount++;
+        if (index != size) {
+            Node<T> last = heap[size];
+            heap[index] = last;
+            last.index = index;
+            heap[size] = null;
+            // The moved node may belong above or below its new slot
+            if (!siftUp(index)) {
+                siftDown(index);
+            }
+        } else {
+            heap[size] = null;
+        }
+        return node.value;
+    }
+
+    /**
+     * The value with the earliest deadline, or null when empty
+     */
+    public T peek() {
+        return size == 0 ? null : heap[0].value;
+    }
+
+    /**
+     * The earliest deadline, or Long.MAX_VALUE when empty
+     */
+    public long peekDeadline() {
+        return size == 0 ? Long.MAX_VALUE : heap[0].deadline;
+    }
+
+    public T get(String id) {
+        Node<T> node = nodesById.get(id);
+        return node == null ? null : node.value;
+    }
+
+    public boolean contains(String id) {
+        return nodesById.containsKey(id);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Lazily iterate values in deadline order without disturbing the heap. Each step costs
+     * O(log k) where k is the number of values visited so far, so taking only the first few
+     * candidates stays cheap on a large heap. The heap must not change while iterating.
+     */
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator();
+    }
+
+    /**
+     * Best-first walk over the heap: a small frontier heap of array slots holds the children of
+     * every value already returned, and the smallest frontier slot is always the next value.
+     */
+    private final class OrderedIterator implements Iterator<T> {
+        private final int expectedModCount = modCount;
+        private int[] frontier = new int[8];
+        private int frontierSize;
+
+        OrderedIterator() {
+            if (size > 0) {
+                push(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return frontierSize > 0;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (frontierSize == 0) {
+                throw new NoSuchElementException();
+            }
+            int slot = pop();
+            int left = 2 * slot + 1;
+            if (left < size) {
+                push(left);
+                if (left + 1 < size) {
+                    push(left + 1);
+                }
+            }
+            return heap[slot].value;
+        }
+
+        private void push(int slot) {
+            if (frontierSize == frontier.length) {
+                frontier = Arrays.copyOf(frontier, frontierSize * 2);
+            }
+            int i = frontierSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(heap[slot], heap[frontier[parent]])) {
+                    break;
+                }
+                frontier[i] = frontier[parent];
+                i = parent;
+            }
+            frontier[i] = slot;
+        }
+
+        private int pop() {
+            int top = frontier[0];
+            int last = frontier[--frontierSize];
+            int i = 0;
+            int half = frontierSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < frontierSize && less(heap[frontier[child + 1]], heap[frontier[child]])) {
+                    child++;
+                }
+                if (!less(heap[frontier[child]], heap[last])) {
+                    break;
+                }
+                frontier[i] = frontier[child];
+                i = child;
+            }
+            if (frontierSize > 0) {
+                frontier[i] = last;
+            }
+            return top;
+        }
+    }
+
+    private boolean less(Node<T> a, Node<T> b) {
+        if (a.deadline != b.deadline) {
+            return a.deadline < b.deadline;
+        }
+        return a.sequence < b.sequence;
+    }
+
+    /**
+     * @return true if the node moved
+     */
+    private boolean siftUp(int index) {
+        Node<T> node = heap[index];
+        int start = index;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            Node<T> p = heap[parent];
+            if (!less(node, p)) {
+                break;
+            }
+            heap[index] = p;
+            p.index = index;
+            index = parent;
+        }
+        heap[index] = node;
+        node.index = index;
+        return index != start;
+    }
+
+    private void siftDown(int index) {
+        Node<T> node = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], node)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+        heap[index] = node;
+        node.index = index;
+    }
+}
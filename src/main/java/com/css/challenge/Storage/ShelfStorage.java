@@ -2,106 +2,167 @@ package com.css.challenge.Storage;
 
 import com.css.challenge.Business.KitchenOrder;
 import com.css.challenge.Business.Location;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.css.challenge.Trace.EventTracer;
+import com.css.challenge.Trace.TracePoint;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
+ * StorageRepository representation for the room temperature shelf, which also takes overflow
+ * from the heater and cooler.
  *
+ * Besides the id lookup the shelf keeps an expiry index: an indexed heap ordered by each order's
+ * projected expiry deadline. An order's decay rate is fixed while it sits on the shelf, so its
+ * deadline does not change there and the ordering never needs refreshing. Removal by id is
+ * O(log n) and the least fresh order is available in O(1) through peekLeastFresh.
+ *
+ * getAllOrders copies the orders into an immutable snapshot on the first read after a change;
+ * forEachOrder walks them in place.
  */
 public class ShelfStorage implements StorageRepository {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ShelfStorage.class);
+    private static final EventTracer TRACER = EventTracer.global();
 
-    private static final int CAPACITY = 12;
+    public static final int DEFAULT_CAPACITY = 12;
     private static final String NAME = "shelf";
 
-    private final List<KitchenOrder> orders = Collections.synchronizedList(new ArrayList<>());
-    private final Map<String, OrderItem> orderMap = Collections.synchronizedMap(new HashMap<>());
-    private final PriorityQueue<OrderItem> ordersByFreshnessQueue;
-
-    private static class OrderItem {
-        final KitchenOrder order;
-        double cachedFreshness;
-        Instant lastUpdateTime;
+    private final int capacity;
 
-        OrderItem(KitchenOrder order, Instant now) {
-            this.order = order;
-            this.cachedFreshness = 1.0;
-            this.lastUpdateTime = now;
-        }
+    private final Map<String, KitchenOrder> orders = new LinkedHashMap<>();
+    private final IndexedExpiryHeap<KitchenOrder> ordersByExpiry;
+    private volatile List<KitchenOrder> snapshot = List.of();
+    private boolean snapshotStale = false;
 
+    public ShelfStorage() {
+        this(DEFAULT_CAPACITY);
     }
 
-    public ShelfStorage() {
-        ordersByFreshnessQueue = new PriorityQueue<>(Comparator.comparingDouble(item -> item.cachedFreshness));
+    public ShelfStorage(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("%s capacity must be positive: %d", NAME, capacity));
+        }
+        this.capacity = capacity;
+        this.ordersByExpiry = new IndexedExpiryHeap<>(capacity);
     }
 
     @Override
-    public boolean hasSpace() {
-        return orderMap.size() < CAPACITY;
+    public synchronized boolean hasSpace() {
+        return orders.size() < capacity;
     }
 
-    public void add(KitchenOrder order, Instant now) {
-        LOGGER.warn("{} ADD id={} temp={} count={}/{}",
-                getName(),
-                order.getId(),
-                order.getTemperature(),
-                getCurrentCount(),
-                getCapacity());
-
+    public synchronized void add(KitchenOrder order, Instant now) {
         if (!hasSpace()) {
             throw new IllegalStateException(NAME + " is full");
         }
 
-        orders.add(order);
-        OrderItem item = new OrderItem(order, now);  // <-- use now from Kitchen
-        orderMap.put(order.getId(), item);
-        ordersByFreshnessQueue.offer(item);
+        orders.put(order.getId(), order);
+        ordersByExpiry.add(order.getId(), order, expiryDeadline(order, now));
+        snapshotStale = true;
         order.setCurrentLocation(Location.SHELF);
+        TRACER.trace(TracePoint.STORAGE_ADD, order.getId(), NAME, order.getTemperature().getValue(), orders.size(), capacity);
     }
 
     @Override
-    public boolean remove(String orderId) {
-        LOGGER.warn("{} REMOVE id={} count={}/{}",
-                getName(),
-                orderId,
-                getCurrentCount(),
-                getCapacity());
-        OrderItem item = orderMap.remove(orderId);
-        if (item != null) {
-            ordersByFreshnessQueue.remove(item);
-            orders.remove(item.order);
-            LOGGER.info("ShelfStorage Debug: Removed order {}. Current shelf count={}/{}", orderId, orders.size(), CAPACITY);
-            LOGGER.debug("ShelfStorage: Removed order {}", orderId);
+    public synchronized boolean remove(String orderId) {
+        KitchenOrder order = orders.remove(orderId);
+        if (order != null) {
+            ordersByExpiry.remove(orderId);
+            snapshotStale = true;
+            TRACER.trace(TracePoint.STORAGE_REMOVE, orderId, NAME, null, orders.size(), capacity);
             return true;
         }
         return false;
     }
 
     @Override
-    public Optional<KitchenOrder> findById(String orderId) {
-        return Optional.ofNullable(orderMap.get(orderId)).map(item -> item.order);
+    public synchronized List<KitchenOrder> removeAll(Collection<String> orderIds) {
+        List<KitchenOrder> removed = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            KitchenOrder order = orders.remove(orderId);
+            if (order != null) {
+                ordersByExpiry.remove(orderId);
+                removed.add(order);
+                TRACER.trace(TracePoint.STORAGE_REMOVE, orderId, NAME, null, orders.size(), capacity);
+            }
+        }
+        if (!removed.isEmpty()) {
+            snapshotStale = true;
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized Optional<KitchenOrder> findById(String orderId) {
+        return Optional.ofNullable(orders.get(orderId));
+    }
+
+    @Override
+    public boolean supportsFreshnessOrder() {
+        return true;
     }
 
+    /**
+     * The order with the earliest expiry deadline, in O(1)
+     */
+    @Override
+    public synchronized Optional<KitchenOrder> peekLeastFresh() {
+        return Optional.ofNullable(ordersByExpiry.peek());
+    }
+
+    /**
+     * Orders by expiry deadline, earliest first, walked lazily over the expiry index
+     */
+    @Override
+    public synchronized Iterator<KitchenOrder> leastFreshFirst() {
+        return ordersByExpiry.orderedIterator();
+    }
+
+    /**
+     * The earliest expiry deadline on the shelf as an instant, if any order is stored
+     */
+    public synchronized Optional<Instant> peekEarliestExpiry() {
+        if (ordersByExpiry.isEmpty()) {
+            return Optional.empty();
+        }
+        long deadline = ordersByExpiry.peekDeadline();
+        return Optional.of(Instant.ofEpochSecond(0, deadline));
+    }
+
+    /**
+     * Absolute expiry deadline in epoch nanos. Orders added without a creation time are treated as created now.
+     */
+    private static long expiryDeadline(KitchenOrder order, Instant now) {
+        if (order.getCreatedAt() == null) {
+            order.setCreatedAt(now);
+        }
+        return order.getExpiryEpochNanos();
+    }
+
+    @Override
+    public synchronized List<KitchenOrder> getAllOrders() {
+        if (snapshotStale) {
+            snapshot = List.copyOf(orders.values());
+            snapshotStale = false;
+        }
+        return snapshot;
+    }
 
     @Override
-    public List<KitchenOrder> getAllOrders() {
-        return Collections.unmodifiableList(new ArrayList<>(orders));
+    public synchronized void forEachOrder(Consumer<KitchenOrder> action) {
+        orders.values().forEach(action);
     }
 
     @Override
-    public int getCurrentCount() {
+    public synchronized int getCurrentCount() {
         // Number of orders currently stored
-        return orderMap.size();
+        return orders.size();
     }
 
     @Override
     public int getCapacity() {
-        // Max capacity constant
-        return CAPACITY;
+        return capacity;
     }
 
     @Override
@@ -4,8 +4,13 @@ import com.css.challenge.Business.KitchenOrder;
 import com.css.challenge.Business.Location;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * This StorageRepository interface is used for all storage locations
@@ -23,12 +28,29 @@ public interface StorageRepository {
     //remove order by ID
     public boolean remove(String orderId);
 
+    //remove every listed order in one operation and return the orders actually removed
+    default List<KitchenOrder> removeAll(Collection<String> orderIds) {
+        List<KitchenOrder> removed = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            Optional<KitchenOrder> order = findById(orderId);
+            if (order.isPresent() && remove(orderId)) {
+                removed.add(order.get());
+            }
+        }
+        return removed;
+    }
+
     //find order by ID without removing it
     Optional<KitchenOrder> findById(String orderId);
 
-    //get all orders in this storage
+    //get all orders in this storage, as an immutable snapshot
     List<KitchenOrder> getAllOrders();
 
+    //visit every stored order without copying; the action must not modify the storage
+    default void forEachOrder(Consumer<KitchenOrder> action) {
+        getAllOrders().forEach(action);
+    }
+
     //get number of orders in storage
     int getCurrentCount();
 
@@ -41,4 +63,22 @@ public interface StorageRepository {
     String getLocationName();
 
     Location getLocation();
+
+    // Optional ordered-candidate API. Repositories that keep orders indexed by expiry deadline
+    // override these so strategies can skip scanning getAllOrders.
+
+    //true if peekLeastFresh and leastFreshFirst are supported
+    default boolean supportsFreshnessOrder() {
+        return false;
+    }
+
+    //the order closest to expiring, without scanning; empty if unsupported
+    default Optional<KitchenOrder> peekLeastFresh() {
+        return Optional.empty();
+    }
+
+    //lazily iterate orders least fresh first; the storage must not change while iterating; empty if unsupported
+    default Iterator<KitchenOrder> leastFreshFirst() {
+        return Collections.emptyIterator();
+    }
 }
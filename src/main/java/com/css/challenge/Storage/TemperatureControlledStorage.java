@@ -0,0 +1,128 @@
+package com.css.challenge.Storage;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Location;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * StorageRepository representation shared by the temperature controlled storages (heater, cooler).
+ * Orders are kept in a LinkedHashMap keyed by id, so add, remove and find are O(1) and iteration
+ * keeps insertion order. getAllOrders returns an immutable snapshot that is only rebuilt after the
+ * contents change, so repeated reads do not copy; the first read after each change still copies
+ * every order, which is why the discard strategy's fallback scan uses forEachOrder instead.
+ */
+public class TemperatureControlledStorage implements StorageRepository {
+    private final String name;
+    private final Location location;
+    private final int capacity;
+
+    private final Map<String, KitchenOrder> orders = new LinkedHashMap<>();
+    private volatile List<KitchenOrder> snapshot = List.of();
+    private boolean snapshotStale = false;
+
+    public TemperatureControlledStorage(String name, Location location, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("%s capacity must be positive: %d", name, capacity));
+        }
+        this.name = name;
+        this.location = location;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized boolean hasSpace(){
+        return orders.size() < capacity;
+    }
+
+    @Override
+    public synchronized void add(KitchenOrder order, Instant now){
+        if(!hasSpace()){
+            throw new IllegalStateException(
+                    String.format("%s is full as capacity is: %d", name, capacity));
+        }
+        orders.put(order.getId(), order);
+        snapshotStale = true;
+        order.setCurrentLocation(location);
+    }
+
+    @Override
+    public synchronized boolean remove(String orderId){
+        boolean removed = orders.remove(orderId) != null;
+        if (removed) {
+            snapshotStale = true;
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized List<KitchenOrder> removeAll(Collection<String> orderIds){
+        List<KitchenOrder> removed = new ArrayList<>(orderIds.size());
+        for (String orderId : orderIds) {
+            KitchenOrder order = orders.remove(orderId);
+            if (order != null) {
+                removed.add(order);
+            }
+        }
+        if (!removed.isEmpty()) {
+            snapshotStale = true;
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized Optional<KitchenOrder> findById(String orderId){
+        return Optional.ofNullable(orders.get(orderId));
+    }
+
+    @Override
+    public synchronized List<KitchenOrder> getAllOrders(){
+        if (snapshotStale) {
+            snapshot = List.copyOf(orders.values());
+            snapshotStale = false;
+        }
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void forEachOrder(Consumer<KitchenOrder> action) {
+        orders.values().forEach(action);
+    }
+
+    @Override
+    public synchronized int getCurrentCount(){
+        return orders.size();
+    }
+
+    @Override
+    public int getCapacity(){
+        return capacity;
+    }
+
+    @Override
+    public String getName(){
+        return name;
+    }
+
+    @Override
+    public String getLocationName() {
+        return name;
+    }
+
+    @Override
+    public Location getLocation() {
+        return location;
+    }
+
+    @Override
+    public String toString(){
+        return String.format("%s (%d/%d)", name, getCurrentCount(), capacity);
+    }
+}
@@ -0,0 +1,71 @@
+package com.css.challenge.Storage;
+
+import com.css.challenge.Business.DiscardReason;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DiscardedOrderRegistry that forgets ids once they are older than a retention window.
+ *
+ * A courier arrives at most the maximum pickup delay after placement, and an order is never discarded
+ * before it is placed, so using the maximum pickup window as retention never forgets an id a courier
+ * can still ask for. Entries are evicted in discard order from a FIFO queue as time moves forward, so
+ * memory stays proportional to discards per window instead of growing over days of uptime.
+ */
+public class TimeWindowedDiscardedOrderRegistry implements DiscardedOrderRegistry {
+
+    private record Entry(String orderId, DiscardReason reason, long discardedAtNanos) {}
+
+    private final long windowNanos;
+    private final Map<String, Entry> entriesById = new HashMap<>();
+    private final ArrayDeque<Entry> evictionQueue = new ArrayDeque<>();
+
+    public TimeWindowedDiscardedOrderRegistry(Duration window) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Retention window must not be negative: " + window);
+        }
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public synchronized void add(String orderId, DiscardReason reason, Instant discardedAt) {
+        long at = toEpochNanos(discardedAt);
+        evictOlderThan(at);
+        Entry entry = new Entry(orderId, reason, at);
+        entriesById.put(orderId, entry);
+        evictionQueue.addLast(entry);
+    }
+
+    @Override
+    public synchronized Optional<DiscardReason> reason(String orderId, Instant now) {
+        long at = toEpochNanos(now);
+        evictOlderThan(at);
+        Entry entry = entriesById.get(orderId);
+        return entry != null && at - entry.discardedAtNanos() <= windowNanos
+                ? Optional.of(entry.reason())
+                : Optional.empty();
+    }
+
+    @Override
+    public synchronized int size() {
+        return entriesById.size();
+    }
+
+    private void evictOlderThan(long nowNanos) {
+        Entry head;
+        while ((head = evictionQueue.peekFirst()) != null && nowNanos - head.discardedAtNanos() > windowNanos) {
+            evictionQueue.pollFirst();
+            // Only drop the id if it was not discarded again later (journal recovery can re-add ids)
+            entriesById.remove(head.orderId(), head);
+        }
+    }
+
+    private static long toEpochNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -0,0 +1,32 @@
+package com.css.challenge.Storage;
+
+import com.css.challenge.Business.DiscardReason;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DiscardedOrderRegistry that remembers every discarded id forever.
+ * Memory grows with every discard, so this suits short, bounded runs.
+ */
+public class UnboundedDiscardedOrderRegistry implements DiscardedOrderRegistry {
+
+    private final Map<String, DiscardReason> reasonsById = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(String orderId, DiscardReason reason, Instant discardedAt) {
+        reasonsById.put(orderId, reason);
+    }
+
+    @Override
+    public Optional<DiscardReason> reason(String orderId, Instant now) {
+        return Optional.ofNullable(reasonsById.get(orderId));
+    }
+
+    @Override
+    public int size() {
+        return reasonsById.size();
+    }
+}
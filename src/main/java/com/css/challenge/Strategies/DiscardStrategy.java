@@ -14,5 +14,11 @@ public interface DiscardStrategy {
 
     Optional<KitchenOrder> selectDiscardCandidate(StorageRepository storage, Instant now);
 
+    //true if selectDiscardCandidate always picks the storage's least fresh order, so a burst can plan its
+    //discards from the storage's freshness order instead of asking once per discard
+    default boolean discardsLeastFresh() {
+        return false;
+    }
+
     public String getName();
 }
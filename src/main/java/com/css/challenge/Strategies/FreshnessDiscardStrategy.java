@@ -2,59 +2,86 @@ package com.css.challenge.Strategies;
 
 import com.css.challenge.Business.KitchenOrder;
 import com.css.challenge.Storage.StorageRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.css.challenge.Trace.EventTracer;
+import com.css.challenge.Trace.TracePoint;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
- * FreshnessDiscardStrategy discards the order with the
- * lowest freshness ratio first. This strategy ensures that fresher orders are
- * preserved, reducing waste and maintaining order quality.
+ * FreshnessDiscardStrategy discards the least fresh order first: the order whose projected
+ * expiry deadline is earliest. This strategy ensures that fresher orders are preserved,
+ * reducing waste and maintaining order quality.
+ *
+ * Repositories that keep a freshness index (supportsFreshnessOrder) answer in O(1) without
+ * allocating; any other repository falls back to scanning its orders in place with forEachOrder.
  */
 public class FreshnessDiscardStrategy implements DiscardStrategy {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(FreshnessDiscardStrategy.class);
+    private static final EventTracer TRACER = EventTracer.global();
+    private static final String NAME = "Freshness";
 
     /**
-    * Selects an order to discard from the given storage repository based on the
-    * lowest freshness ratio at the given timestamp.
+    * Selects an order to discard from the given storage repository: the order that expires first.
     */
     @Override
     public Optional<KitchenOrder> selectDiscardCandidate(StorageRepository storage, Instant now) {
-        List<KitchenOrder> orders = storage.getAllOrders();
-        if (orders.isEmpty()) {
-            LOGGER.debug("FreshnessStrategy: No orders in storage {}", storage.getName());
+        if (storage.supportsFreshnessOrder()) {
+            Optional<KitchenOrder> indexed = storage.peekLeastFresh();
+            if (indexed.isPresent()) {
+                traceSelected(indexed.get(), storage);
+            } else {
+                TRACER.trace(TracePoint.DISCARD_EMPTY, null, NAME, storage.getName(), 0, 0);
+            }
+            return indexed;
+        }
+        return scanForLeastFresh(storage);
+    }
+
+    /**
+     * Fallback for repositories without a freshness index: scan every order.
+     */
+    private Optional<KitchenOrder> scanForLeastFresh(StorageRepository storage) {
+        LeastFreshScan scan = new LeastFreshScan();
+        storage.forEachOrder(scan);
+        if (scan.leastFresh == null) {
+            TRACER.trace(TracePoint.DISCARD_EMPTY, null, NAME, storage.getName(), 0, 0);
             return Optional.empty();
         }
 
-        KitchenOrder leastFresh = null;
-        double minFreshness = Double.MAX_VALUE;
+        traceSelected(scan.leastFresh, storage);
+        return Optional.of(scan.leastFresh);
+    }
+
+    /**
+     * Keeps the order with the earliest expiry deadline seen so far
+     */
+    private static final class LeastFreshScan implements Consumer<KitchenOrder> {
+        private KitchenOrder leastFresh;
+        private long earliestExpiry = Long.MAX_VALUE;
 
-        for (KitchenOrder order : orders) {
-            double freshness = order.getFreshnessRatio(now);
-            LOGGER.debug("FreshnessDiscardStrategy: Evaluating order {} in {} with freshness {:.4f}",
-                    order.getId(), storage.getName(), freshness);
-            if (freshness < minFreshness) {
-                minFreshness = freshness;
+        @Override
+        public void accept(KitchenOrder order) {
+            long expiry = order.getExpiryEpochNanos();
+            if (leastFresh == null || expiry < earliestExpiry) {
+                earliestExpiry = expiry;
                 leastFresh = order;
             }
         }
+    }
 
-        if (leastFresh != null) {
-            LOGGER.info("FreshnessDiscardStrategy: Selected order {} for discard from {} (freshness {:.4f})",
-                    leastFresh.getId(), storage.getName(), minFreshness);
-            return Optional.of(leastFresh);
-        } else {
-            LOGGER.debug("FreshnessDiscardStrategy: No candidate to discard in {}", storage.getName());
-            return Optional.empty();
-        }
+    private static void traceSelected(KitchenOrder order, StorageRepository storage) {
+        TRACER.trace(TracePoint.DISCARD_SELECTED, order.getId(), NAME, storage.getName(), order.getExpiryEpochNanos(), 0);
+    }
+
+    @Override
+    public boolean discardsLeastFresh() {
+        return true;
     }
 
     @Override
     public String getName() {
-        return "Freshness";
+        return NAME;
     }
 }
@@ -0,0 +1,114 @@
+package com.css.challenge.Strategies;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Storage.IndexedExpiryHeap;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * ShelfRebalancer tracks the hot and cold orders sitting on the shelf (outside their ideal storage)
+ * in one queue per temperature, ordered by urgency: the earliest expiry deadline first.
+ *
+ * When heater or cooler space is available the kitchen asks for the most at-risk shelf order of
+ * that temperature and moves it home. Tracking and untracking are O(log n), and picking a candidate
+ * is O(1) amortized, so no shelf copy or scan is needed: an expired order never becomes movable
+ * again, so it is dropped from its queue the first time it is found at the front (it stays on the
+ * shelf until it is picked up or discarded).
+ * Not thread safe: the kitchen only touches it while holding the shelf lock.
+ */
+public class ShelfRebalancer {
+
+    private static final int INITIAL_QUEUE_CAPACITY = 16;
+
+    private final Map<Temperature, IndexedExpiryHeap<KitchenOrder>> queues = new EnumMap<>(Temperature.class);
+
+    public ShelfRebalancer() {
+        queues.put(Temperature.HOT, new IndexedExpiryHeap<>(INITIAL_QUEUE_CAPACITY));
+        queues.put(Temperature.COLD, new IndexedExpiryHeap<>(INITIAL_QUEUE_CAPACITY));
+    }
+
+    /**
+     * Start tracking an order placed on the shelf. Room temperature orders are already home and are ignored.
+     */
+    public void track(KitchenOrder order) {
+        IndexedExpiryHeap<KitchenOrder> queue = queues.get(order.getTemperature());
+        if (queue != null) {
+            queue.add(order.getId(), order, order.getExpiryEpochNanos());
+        }
+    }
+
+    /**
+     * Stop tracking an order that left the shelf
+     */
+    public void untrack(KitchenOrder order) {
+        IndexedExpiryHeap<KitchenOrder> queue = queues.get(order.getTemperature());
+        if (queue != null) {
+            queue.remove(order.getId());
+        }
+    }
+
+    /**
+     * The most urgent unexpired shelf order of the given temperature. Expired orders found ahead of
+     * it are untracked.
+     */
+    public Optional<KitchenOrder> mostUrgent(Temperature temperature, Instant now) {
+        return mostUrgent(temperature, KitchenOrder.toEpochNanos(now));
+    }
+
+    private Optional<KitchenOrder> mostUrgent(Temperature temperature, long nowEpochNanos) {
+        IndexedExpiryHeap<KitchenOrder> queue = queues.get(temperature);
+        if (queue == null) {
+            return Optional.empty();
+        }
+        while (!queue.isEmpty()) {
+            KitchenOrder order = queue.peek();
+            if (!order.hasExpired(nowEpochNanos)) {
+                return Optional.of(order);
+            }
+            queue.remove(order.getId());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Lazily iterate the tracked shelf orders of a temperature, most urgent first, expired ones
+     * included, without changing the queue. The queue must not change while iterating.
+     */
+    public Iterator<KitchenOrder> mostUrgentFirst(Temperature temperature) {
+        IndexedExpiryHeap<KitchenOrder> queue = queues.get(temperature);
+        return queue == null ? Collections.emptyIterator() : queue.orderedIterator();
+    }
+
+    /**
+     * The most urgent unexpired shelf order across the temperatures whose ideal storage has space
+     *
+     * @param hasSpace whether the ideal storage for a temperature can take an order
+     */
+    public Optional<KitchenOrder> selectMoveCandidate(Predicate<Temperature> hasSpace, Instant now) {
+        long nowEpochNanos = KitchenOrder.toEpochNanos(now);
+        KitchenOrder best = null;
+        for (Temperature temperature : queues.keySet()) {
+            if (!hasSpace.test(temperature)) {
+                continue;
+            }
+            Optional<KitchenOrder> candidate = mostUrgent(temperature, nowEpochNanos);
+            if (candidate.isPresent()
+                    && (best == null || candidate.get().getExpiryEpochNanos() < best.getExpiryEpochNanos())) {
+                best = candidate.get();
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public int size(Temperature temperature) {
+        IndexedExpiryHeap<KitchenOrder> queue = queues.get(temperature);
+        return queue == null ? 0 : queue.size();
+    }
+}
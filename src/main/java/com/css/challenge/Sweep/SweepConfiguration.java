@@ -0,0 +1,65 @@
+package com.css.challenge.Sweep;
+
+import com.css.challenge.Strategies.DiscardStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * One point in the configuration space: the Main options (rate, min, max), storage capacities and
+ * the discard strategy. The strategy is a factory so every run gets its own instance.
+ */
+public record SweepConfiguration(
+        Duration rate,
+        Duration min,
+        Duration max,
+        Capacities capacities,
+        String strategyName,
+        Supplier<DiscardStrategy> strategyFactory) {
+
+    /**
+     * Heater, cooler and shelf capacities
+     */
+    public record Capacities(int heater, int cooler, int shelf) {
+        @Override
+        public String toString() {
+            return heater + "/" + cooler + "/" + shelf;
+        }
+    }
+
+    /**
+     * Every combination of the given values. Combinations where min exceeds max are skipped.
+     */
+    public static List<SweepConfiguration> grid(List<Duration> rates,
+                                                List<Duration> mins,
+                                                List<Duration> maxs,
+                                                List<Capacities> capacities,
+                                                Map<String, Supplier<DiscardStrategy>> strategies) {
+        List<SweepConfiguration> configurations = new ArrayList<>();
+        for (Duration rate : rates) {
+            for (Duration min : mins) {
+                for (Duration max : maxs) {
+                    if (max.compareTo(min) < 0) {
+                        continue;
+                    }
+                    for (Capacities capacity : capacities) {
+                        for (Map.Entry<String, Supplier<DiscardStrategy>> strategy : strategies.entrySet()) {
+                            configurations.add(new SweepConfiguration(
+                                    rate, min, max, capacity, strategy.getKey(), strategy.getValue()));
+                        }
+                    }
+                }
+            }
+        }
+        return configurations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%dms min=%ds max=%ds capacity=%s strategy=%s",
+                rate.toMillis(), min.toSeconds(), max.toSeconds(), capacities, strategyName);
+    }
+}
@@ -0,0 +1,41 @@
+package com.css.challenge.Sweep;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Outcome of one simulated run in a parameter sweep.
+ * wasteValue is the summed price of every discarded order. violations and score come from
+ * validating the run's actions (see ActionValidator).
+ */
+public record SweepResult(
+        SweepConfiguration configuration,
+        int placed,
+        int pickedUp,
+        int moved,
+        int discarded,
+        BigDecimal wasteValue,
+        long violations,
+        double score,
+        long simulationMillis) {
+
+    public boolean isValid() {
+        return violations == 0;
+    }
+
+    /**
+     * Render ranked results as a fixed-width table, best first
+     */
+    public static String toTable(List<SweepResult> ranked) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%4s  %-62s %8s %8s %8s %10s %7s %10s%n",
+                "rank", "configuration", "pickups", "discards", "moves", "waste", "score", "violations"));
+        int rank = 1;
+        for (SweepResult result : ranked) {
+            table.append(String.format("%4d  %-62s %8d %8d %8d %10s %7.2f %10d%n",
+                    rank++, result.configuration(), result.pickedUp(), result.discarded(),
+                    result.moved(), result.wasteValue().toPlainString(), result.score(), result.violations()));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package com.css.challenge.Sweep;
+
+import com.css.challenge.Actions.ActionSink;
+import com.css.challenge.Actions.ActionType;
+import com.css.challenge.Adapter.OrderAdapter;
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Location;
+import com.css.challenge.Harness.DiscreteEventHarness;
+import com.css.challenge.Harness.VirtualClock;
+import com.css.challenge.Kitchen;
+import com.css.challenge.Source.OrderTraceFiles;
+import com.css.challenge.Storage.CoolerStorage;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import com.css.challenge.Strategies.FreshnessDiscardStrategy;
+import com.css.challenge.Validation.ActionValidator;
+import com.css.challenge.Validation.ValidationReport;
+import com.css.challenge.client.Order;
+import com.css.challenge.client.OrderReader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the same order set under many configurations in parallel and ranks the outcomes.
+ *
+ * Each configuration gets its own Kitchen, storages, strategy, KitchenOrder copies and VirtualClock,
+ * and runs on the DiscreteEventHarness, so runs share no mutable state and scale across the cores of
+ * the fork-join pool. The order list holds immutable client Orders; every run converts its own copy.
+ * All runs use the same start instant and seed, so they see identical placement and pickup schedules.
+ *
+ * Every run's actions are also checked by an ActionValidator in the same pass that tallies them.
+ *
+ * Ranking: valid runs first, then lowest waste value, then fewest discards, then most pickups.
+ *
+ * main sweeps a small default grid over an order trace file and prints the ranked table.
+ */
+public class SweepRunner {
+
+    public static final Comparator<SweepResult> RANKING = Comparator
+            .comparing((SweepResult result) -> !result.isValid())
+            .thenComparing(SweepResult::wasteValue)
+            .thenComparingInt(SweepResult::discarded)
+            .thenComparing(Comparator.comparingInt(SweepResult::pickedUp).reversed());
+
+    private final List<Order> orders;
+    private final Instant start;
+    private final long seed;
+    private final boolean proactiveExpiry;
+    private final int parallelism;
+
+    public SweepRunner(List<Order> orders, Instant start, long seed, boolean proactiveExpiry, int parallelism) {
+        this.orders = List.copyOf(orders);
+        this.start = start;
+        this.seed = seed;
+        this.proactiveExpiry = proactiveExpiry;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Run every configuration and return the results ranked best first
+     */
+    public List<SweepResult> run(List<SweepConfiguration> configurations) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> configurations.parallelStream()
+                            .map(this::runOne)
+                            .sorted(RANKING)
+                            .toList())
+                    .get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sweep run failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Sweep the default grid (see defaultGrid) over the orders of a trace file
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("usage: SweepRunner <orders.json[.gz]> [seed] [parallelism]");
+            System.exit(2);
+        }
+        Path path = Path.of(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<Order> orders = new ArrayList<>();
+        try (OrderReader reader = OrderTraceFiles.open(path)) {
+            reader.forEachRemaining(orders::add);
+        }
+        List<SweepConfiguration> grid = defaultGrid();
+        System.out.printf("Sweeping %d configurations over %d orders from %s%n", grid.size(), orders.size(), path);
+        SweepRunner runner = new SweepRunner(orders, Instant.now(), seed, true, parallelism);
+        System.out.print(SweepResult.toTable(runner.run(grid)));
+    }
+
+    /**
+     * Main's default rate and pickup window around a tighter and a looser setting, at the default
+     * capacities and half and double them
+     */
+    public static List<SweepConfiguration> defaultGrid() {
+        return SweepConfiguration.grid(
+                List.of(Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofMillis(1000)),
+                List.of(Duration.ofSeconds(2), Duration.ofSeconds(4)),
+                List.of(Duration.ofSeconds(10), Duration.ofSeconds(20)),
+                List.of(new SweepConfiguration.Capacities(
+                                HeaterStorage.DEFAULT_CAPACITY / 2, CoolerStorage.DEFAULT_CAPACITY / 2, ShelfStorage.DEFAULT_CAPACITY / 2),
+                        new SweepConfiguration.Capacities(
+                                HeaterStorage.DEFAULT_CAPACITY, CoolerStorage.DEFAULT_CAPACITY, ShelfStorage.DEFAULT_CAPACITY),
+                        new SweepConfiguration.Capacities(
+                                HeaterStorage.DEFAULT_CAPACITY * 2, CoolerStorage.DEFAULT_CAPACITY * 2, ShelfStorage.DEFAULT_CAPACITY * 2)),
+                Map.of(new FreshnessDiscardStrategy().getName(), FreshnessDiscardStrategy::new));
+    }
+
+    /**
+     * Simulate one configuration in isolation
+     */
+    SweepResult runOne(SweepConfiguration configuration) {
+        long startNanos = System.nanoTime();
+
+        Map<String, BigDecimal> priceById = new HashMap<>();
+        List<KitchenOrder> runOrders = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            KitchenOrder runOrder = OrderAdapter.toDomain(order, start);
+            priceById.put(runOrder.getId(), runOrder.getPrice());
+            runOrders.add(runOrder);
+        }
+
+        SweepConfiguration.Capacities capacities = configuration.capacities();
+        Kitchen kitchen = Kitchen.builder()
+                .heater(new HeaterStorage(capacities.heater()))
+                .cooler(new CoolerStorage(capacities.cooler()))
+                .shelf(new ShelfStorage(capacities.shelf()))
+                .discardStrategy(configuration.strategyFactory().get())
+                .build();
+
+        DiscreteEventHarness harness = new DiscreteEventHarness(
+                kitchen,
+                configuration.rate(),
+                configuration.min(),
+                configuration.max(),
+                seed,
+                proactiveExpiry,
+                new VirtualClock(start));
+        harness.run(runOrders);
+
+        // Tally and validate straight from the compact action records; no wire Actions are built for a sweep run
+        ActionValidator validator = ActionValidator.builder()
+                .capacity(Location.HEATER, capacities.heater())
+                .capacity(Location.COOLER, capacities.cooler())
+                .capacity(Location.SHELF, capacities.shelf())
+                .build(orders);
+        ActionTally tally = new ActionTally(priceById);
+        kitchen.getActionSink().forEachRecordSince(0, (sequence, timestampMicros, orderId, type, target) -> {
+            tally.visit(sequence, timestampMicros, orderId, type, target);
+            validator.visit(sequence, timestampMicros, orderId, type, target);
+        });
+        ValidationReport report = validator.report();
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return new SweepResult(configuration, tally.placed, tally.pickedUp, tally.moved, tally.discarded, tally.waste,
+                report.violationCount(), report.score(), elapsedMillis);
+    }
+
+    private static final class ActionTally implements ActionSink.RecordVisitor {
+
+        private final Map<String, BigDecimal> priceById;
+        int placed;
+        int pickedUp;
+        int moved;
+        int discarded;
+        BigDecimal waste = BigDecimal.ZERO;
+
+        ActionTally(Map<String, BigDecimal> priceById) {
+            this.priceById = priceById;
+        }
+
+        @Override
+        public void visit(long sequence, long timestampMicros, String orderId, ActionType type, Location target) {
+            switch (type) {
+                case PLACE -> placed++;
+                case PICKUP -> pickedUp++;
+                case MOVE -> moved++;
+                case DISCARD -> {
+                    discarded++;
+                    waste = waste.add(priceById.getOrDefault(orderId, BigDecimal.ZERO));
+                }
+            }
+        }
+    }
+}
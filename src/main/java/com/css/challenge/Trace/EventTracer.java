@@ -0,0 +1,244 @@
+package com.css.challenge.Trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * EventTracer is an asynchronous, structured replacement for logging on the kitchen's hot paths.
+ *
+ * Callers check isEnabled(point) (one array read) and then trace the raw fields of the event into
+ * a preallocated ring buffer of records: claiming a slot is one CAS and writing it allocates
+ * nothing. A single daemon thread drains the ring, renders each record with its TracePoint
+ * pattern and hands it to SLF4J under the logger "trace.<category>". When the ring is empty the
+ * drain thread parks until a producer signals it, so an idle tracer uses no CPU; producers only
+ * pay for the signal when the drain thread is actually parked. When the ring is full the event is
+ * dropped and counted rather than blocking the caller.
+ *
+ * Levels are set per TraceCategory, from the kitchen.trace.<category> system properties at startup
+ * (e.g. -Dkitchen.trace.storage=debug) or at runtime through setLevel. Defaults: kitchen and
+ * strategy at INFO, storage OFF.
+ */
+public final class EventTracer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventTracer.class);
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    // flush polls the drain thread's progress at this interval
+    private static final long FLUSH_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final EventTracer GLOBAL = new EventTracer(
+            Integer.getInteger("kitchen.trace.buffer", DEFAULT_CAPACITY), levelsFromSystemProperties());
+
+    /**
+     * One preallocated slot of the ring. published holds the sequence of the record written into
+     * it, so the drain thread can tell a finished write from a claimed but unfinished one.
+     */
+    private static final class TraceRecord {
+        volatile long published = -1;
+        TracePoint point;
+        String id;
+        String text1;
+        String text2;
+        long value1;
+        long value2;
+    }
+
+    private final TraceRecord[] ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+    private final LongAdder dropped = new LongAdder();
+    // Per-category thresholds by ordinal, replaced wholesale on change
+    private volatile int[] thresholds;
+    private final Map<TraceCategory, Logger> loggers = new EnumMap<>(TraceCategory.class);
+    private final Thread drainThread;
+    private volatile boolean running = true;
+    // Set while the drain thread is (about to be) parked waiting for events
+    private volatile boolean drainParked;
+
+    public EventTracer(int capacity, Map<TraceCategory, TraceLevel> levels) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Trace buffer capacity must be a positive power of two: " + capacity);
+        }
+        this.ring = new TraceRecord[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new TraceRecord();
+        }
+        this.mask = capacity - 1;
+
+        int[] initial = new int[TraceCategory.values().length];
+        for (TraceCategory category : TraceCategory.values()) {
+            initial[category.ordinal()] = levels.getOrDefault(category, TraceLevel.OFF).ordinal();
+            loggers.put(category, LoggerFactory.getLogger("trace." + category.name().toLowerCase(Locale.ROOT)));
+        }
+        this.thresholds = initial;
+
+        this.drainThread = new Thread(this::drainLoop, "event-tracer");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * The process-wide tracer used by the kitchen, storages and strategies
+     */
+    public static EventTracer global() {
+        return GLOBAL;
+    }
+
+    public static Map<TraceCategory, TraceLevel> defaultLevels() {
+        Map<TraceCategory, TraceLevel> levels = new EnumMap<>(TraceCategory.class);
+        levels.put(TraceCategory.KITCHEN, TraceLevel.INFO);
+        levels.put(TraceCategory.STORAGE, TraceLevel.OFF);
+        levels.put(TraceCategory.STRATEGY, TraceLevel.INFO);
+        return levels;
+    }
+
+    public boolean isEnabled(TracePoint point) {
+        return point.getLevel().ordinal() <= thresholds[point.getCategory().ordinal()];
+    }
+
+    public void setLevel(TraceCategory category, TraceLevel level) {
+        int[] updated = thresholds.clone();
+        updated[category.ordinal()] = level.ordinal();
+        thresholds = updated;
+    }
+
+    public TraceLevel getLevel(TraceCategory category) {
+        return TraceLevel.values()[thresholds[category.ordinal()]];
+    }
+
+    public void trace(TracePoint point, String id) {
+        trace(point, id, null, null, 0, 0);
+    }
+
+    public void trace(TracePoint point, String id, String text1) {
+        trace(point, id, text1, null, 0, 0);
+    }
+
+    /**
+     * Queue an event if its category is enabled at the point's level. Never blocks: if the ring is
+     * full the event is dropped and counted.
+     */
+    public void trace(TracePoint point, String id, String text1, String text2, long value1, long value2) {
+        if (!isEnabled(point)) {
+            return;
+        }
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= ring.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        TraceRecord record = ring[(int) (sequence & mask)];
+        record.point = point;
+        record.id = id;
+        record.text1 = text1;
+        record.text2 = text2;
+        record.value1 = value1;
+        record.value2 = value2;
+        record.published = sequence;
+        if (drainParked) {
+            LockSupport.unpark(drainThread);
+        }
+    }
+
+    /**
+     * Events dropped because the ring was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Wait until every event traced so far has been handed to the logger
+     */
+    public void flush() {
+        long target = head.get();
+        while (tail < target && drainThread.isAlive()) {
+            LockSupport.parkNanos(FLUSH_POLL_NANOS);
+        }
+    }
+
+    /**
+     * Drain what is left and stop the drain thread
+     */
+    @Override
+    public void close() {
+        flush();
+        running = false;
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long lost = dropped.sum();
+        if (lost > 0) {
+            LOGGER.warn("EventTracer: dropped {} events because the trace buffer was full", lost);
+        }
+    }
+
+    private void drainLoop() {
+        long next = tail;
+        while (running || next < head.get()) {
+            TraceRecord record = ring[(int) (next & mask)];
+            if (record.published != next) {
+                if (next < head.get()) {
+                    // A producer claimed this slot and is still writing it
+                    Thread.yield();
+                    continue;
+                }
+                // Announce the park before rechecking, so a producer publishing now sees the flag and unparks
+                drainParked = true;
+                if (running && next == head.get()) {
+                    LockSupport.park(this);
+                }
+                drainParked = false;
+                continue;
+            }
+            TracePoint point = record.point;
+            Object[] arguments = point.arguments(record.id, record.text1, record.text2, record.value1, record.value2);
+            record.id = null;
+            record.text1 = null;
+            record.text2 = null;
+            tail = ++next;
+            emit(point, arguments);
+        }
+    }
+
+    private void emit(TracePoint point, Object[] arguments) {
+        Logger logger = loggers.get(point.getCategory());
+        try {
+            switch (point.getLevel()) {
+                case WARN -> logger.warn(point.getPattern(), arguments);
+                case INFO -> logger.info(point.getPattern(), arguments);
+                case DEBUG -> logger.debug(point.getPattern(), arguments);
+                case OFF -> { }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("EventTracer: failed to emit {}", point, e);
+        }
+    }
+
+    private static Map<TraceCategory, TraceLevel> levelsFromSystemProperties() {
+        Map<TraceCategory, TraceLevel> levels = defaultLevels();
+        for (TraceCategory category : TraceCategory.values()) {
+            String value = System.getProperty("kitchen.trace." + category.name().toLowerCase(Locale.ROOT));
+            if (value != null) {
+                levels.put(category, TraceLevel.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            }
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,10 @@
+package com.css.challenge.Trace;
+
+/**
+ * Trace categories, each with its own level
+ */
+public enum TraceCategory {
+    KITCHEN,
+    STORAGE,
+    STRATEGY
+}
@@ -0,0 +1,11 @@
+package com.css.challenge.Trace;
+
+/**
+ * Trace levels from least to most verbose. A category at level L emits trace points at L or below.
+ */
+public enum TraceLevel {
+    OFF,
+    WARN,
+    INFO,
+    DEBUG
+}
@@ -0,0 +1,70 @@
+package com.css.challenge.Trace;
+
+/**
+ * Every event the kitchen can trace. A trace point fixes the category, the level and how a
+ * record is rendered, so call sites only hand over raw fields: an id, two strings and two longs.
+ * Rendering happens on the drain thread, never on the caller's.
+ */
+public enum TracePoint {
+
+    ACTION(TraceCategory.KITCHEN, TraceLevel.INFO,
+            "ACTION {timestamp: {}, id: {}, action: {}, target: {}}", Field.VALUE1, Field.ID, Field.TEXT1, Field.TEXT2),
+    PLACING(TraceCategory.KITCHEN, TraceLevel.DEBUG,
+            "Kitchen: Placing order {} at {}us", Field.ID, Field.VALUE1),
+    PICKUP_UNKNOWN(TraceCategory.KITCHEN, TraceLevel.WARN,
+            "Pickup attempted for unknown id {}", Field.ID),
+    DISCARDED(TraceCategory.KITCHEN, TraceLevel.DEBUG,
+            "Discarded {} via strategy {}", Field.ID, Field.TEXT1),
+
+    STORAGE_ADD(TraceCategory.STORAGE, TraceLevel.DEBUG,
+            "{} ADD id={} temp={} count={}/{}", Field.TEXT1, Field.ID, Field.TEXT2, Field.VALUE1, Field.VALUE2),
+    STORAGE_REMOVE(TraceCategory.STORAGE, TraceLevel.DEBUG,
+            "{} REMOVE id={} count={}/{}", Field.TEXT1, Field.ID, Field.VALUE1, Field.VALUE2),
+
+    DISCARD_SELECTED(TraceCategory.STRATEGY, TraceLevel.DEBUG,
+            "{}: Selected order {} for discard from {} (expires {}ns)", Field.TEXT1, Field.ID, Field.TEXT2, Field.VALUE1),
+    DISCARD_EMPTY(TraceCategory.STRATEGY, TraceLevel.DEBUG,
+            "{}: No orders in storage {}", Field.TEXT1, Field.TEXT2);
+
+    /**
+     * Record fields a pattern placeholder can refer to
+     */
+    enum Field { ID, TEXT1, TEXT2, VALUE1, VALUE2 }
+
+    private final TraceCategory category;
+    private final TraceLevel level;
+    private final String pattern;
+    private final Field[] fields;
+
+    TracePoint(TraceCategory category, TraceLevel level, String pattern, Field... fields) {
+        this.category = category;
+        this.level = level;
+        this.pattern = pattern;
+        this.fields = fields;
+    }
+
+    public TraceCategory getCategory() { return category; }
+    public TraceLevel getLevel() { return level; }
+
+    /**
+     * Pattern with {} placeholders, in the same style as SLF4J
+     */
+    String getPattern() { return pattern; }
+
+    /**
+     * Arguments for the pattern's placeholders, in order
+     */
+    Object[] arguments(String id, String text1, String text2, long value1, long value2) {
+        Object[] arguments = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            arguments[i] = switch (fields[i]) {
+                case ID -> id;
+                case TEXT1 -> text1;
+                case TEXT2 -> text2;
+                case VALUE1 -> value1;
+                case VALUE2 -> value2;
+            };
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,353 @@
+package com.css.challenge.Validation;
+
+import com.css.challenge.Actions.ActionSink;
+import com.css.challenge.Actions.ActionType;
+import com.css.challenge.Business.FreshnessDecayModel;
+import com.css.challenge.Business.Location;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Storage.CoolerStorage;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import com.css.challenge.client.Action;
+import com.css.challenge.client.Order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ActionValidator replays a run's actions against its orders in one linear pass, checking them
+ * the way the challenge server does, and produces a ValidationReport with a score.
+ *
+ * Rules:
+ *   - timestamps never go backwards
+ *   - every action names a known order, a known action and a known location
+ *   - an order is placed once, into its ideal storage or the shelf, and a storage never holds
+ *     more orders than its capacity
+ *   - a move takes a stored order from its current location to its ideal storage or the shelf
+ *   - a pickup or discard names the location the order is in, after which the order is gone
+ *   - a pickup happens while the order is fresh
+ *   - a fresh order is only discarded from a full storage, i.e. to make room
+ *
+ * Per-order state lives in primitive arrays indexed by the order's position, so each action costs
+ * one id lookup and a few array reads. Freshness follows FreshnessDecayModel the way
+ * KitchenOrder.relocate does. Actions carry whole microseconds while the kitchen works in
+ * nanoseconds, so every truncated timestamp a deadline depends on can shift it by up to a
+ * microsecond times the decay rate of that segment; deadlines are compared with that slack.
+ *
+ * Feed actions in recorded order through accept (or as an ActionSink.RecordVisitor), then call
+ * report. Not thread safe.
+ */
+public class ActionValidator implements ActionSink.RecordVisitor {
+
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    // per-order lifecycle; stored orders hold STORED_BASE + location ordinal
+    private static final byte NEW = 0;
+    private static final byte GONE = 1;
+    private static final byte STORED_BASE = 2;
+
+    private static final Temperature[] TEMPERATURES = Temperature.values();
+    private static final Location[] LOCATIONS = Location.values();
+
+    private final Map<String, Integer> indexById;
+    private final int orderCount;
+    private byte[] temperatures;
+    private int[] prices;
+    private long[] freshnessMicros;
+    private final byte[] states;
+    private final long[] segmentStarts;
+    private final double[] consumedMicros;
+    // rounding slack of the banked freshness: the summed decay rates of finished segments
+    private final double[] consumedSlack;
+    private final long[] expiries;
+
+    private final int[] capacities = new int[LOCATIONS.length];
+    private final int[] occupancy = new int[LOCATIONS.length];
+    // decay rate by [temperature][location]
+    private final double[][] rates = new double[TEMPERATURES.length][LOCATIONS.length];
+    private final long[] counts = new long[ActionType.values().length];
+
+    private final List<String> violations = new ArrayList<>();
+    private long violationCount;
+    private long stalePickups;
+    private long actions;
+    private long lastTimestamp = Long.MIN_VALUE;
+    private long totalValue;
+    private long deliveredValue;
+    private long wastedValue;
+
+    private ActionValidator(Builder builder, Iterable<Order> orders) {
+        int initial = orders instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1024;
+        this.indexById = new HashMap<>(Math.max(16, (int) (initial / 0.75f) + 1));
+        this.temperatures = new byte[initial];
+        this.prices = new int[initial];
+        this.freshnessMicros = new long[initial];
+
+        // Orders may be streamed (e.g. regenerated by the local server), so the static columns grow
+        int size = 0;
+        for (Order order : orders) {
+            if (size == temperatures.length) {
+                int grown = Math.multiplyExact(size, 2);
+                temperatures = Arrays.copyOf(temperatures, grown);
+                prices = Arrays.copyOf(prices, grown);
+                freshnessMicros = Arrays.copyOf(freshnessMicros, grown);
+            }
+            if (indexById.putIfAbsent(order.getId(), size) != null) {
+                throw new IllegalArgumentException("Duplicate order id " + order.getId());
+            }
+            temperatures[size] = (byte) parseTemperature(order.getTemp()).ordinal();
+            prices[size] = order.getPrice();
+            freshnessMicros[size] = order.getFreshness() * MICROS_PER_SECOND;
+            totalValue += order.getPrice();
+            size++;
+        }
+        this.orderCount = size;
+        this.states = new byte[size];
+        this.segmentStarts = new long[size];
+        this.consumedMicros = new double[size];
+        this.consumedSlack = new double[size];
+        this.expiries = new long[size];
+        for (Location location : LOCATIONS) {
+            capacities[location.ordinal()] = builder.capacities.get(location);
+            for (Temperature temperature : TEMPERATURES) {
+                rates[temperature.ordinal()][location.ordinal()] = builder.decayModel.rate(temperature, location);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Validate the actions against the orders with the default capacities and uniform decay
+     */
+    public static ValidationReport validate(List<Order> orders, List<Action> actions) {
+        ActionValidator validator = builder().build(orders);
+        for (Action action : actions) {
+            validator.accept(action);
+        }
+        return validator.report();
+    }
+
+    public void accept(Action action) {
+        accept(action.getTimestamp(), action.getId(), action.getAction(), action.getTarget());
+    }
+
+    /**
+     * Check an action given by its wire names
+     */
+    public void accept(long timestampMicros, String orderId, String action, String target) {
+        ActionType type;
+        Location location;
+        try {
+            type = ActionType.fromString(action);
+            location = Location.fromString(target);
+        } catch (RuntimeException e) {
+            actions++;
+            violation("invalid action " + action + "/" + target + " for order " + orderId);
+            return;
+        }
+        accept(timestampMicros, orderId, type, location);
+    }
+
+    @Override
+    public void visit(long sequence, long timestampMicros, String orderId, ActionType type, Location target) {
+        accept(timestampMicros, orderId, type, target);
+    }
+
+    /**
+     * Check the next action
+     */
+    public void accept(long timestampMicros, String orderId, ActionType type, Location target) {
+        actions++;
+        if (timestampMicros < lastTimestamp) {
+            violation(type + " of " + orderId + " at " + timestampMicros + " is before the previous action at " + lastTimestamp);
+        }
+        lastTimestamp = Math.max(lastTimestamp, timestampMicros);
+
+        Integer boxed = indexById.get(orderId);
+        if (boxed == null) {
+            violation(type + " of unknown order " + orderId);
+            return;
+        }
+        int i = boxed;
+        counts[type.ordinal()]++;
+
+        if (type == ActionType.PLACE) {
+            place(i, orderId, timestampMicros, target);
+            return;
+        }
+        if (states[i] < STORED_BASE) {
+            violation(type + " of order " + orderId + (states[i] == NEW ? " before it was placed" : " after it left the kitchen"));
+            return;
+        }
+        int current = states[i] - STORED_BASE;
+        switch (type) {
+            case MOVE -> move(i, orderId, timestampMicros, current, target);
+            case PICKUP -> pickup(i, orderId, timestampMicros, current, target);
+            case DISCARD -> discard(i, orderId, timestampMicros, current, target);
+            default -> { }
+        }
+    }
+
+    private void place(int i, String orderId, long now, Location target) {
+        if (states[i] != NEW) {
+            violation("order " + orderId + " placed twice");
+            return;
+        }
+        if (!allowedIn(i, target)) {
+            violation("order " + orderId + " placed in " + target + " which is neither its ideal storage nor the shelf");
+        }
+        store(i, orderId, target);
+        segmentStarts[i] = now;
+        consumedMicros[i] = 0;
+        consumedSlack[i] = 0;
+        expiries[i] = now + (long) Math.floor(freshnessMicros[i] / rate(i, target.ordinal()));
+    }
+
+    private void move(int i, String orderId, long now, int current, Location target) {
+        if (target.ordinal() == current) {
+            violation("order " + orderId + " moved to " + target + " where it already is");
+            return;
+        }
+        if (!allowedIn(i, target)) {
+            violation("order " + orderId + " moved to " + target + " which is neither its ideal storage nor the shelf");
+        }
+        occupancy[current]--;
+        store(i, orderId, target);
+        // Bank the freshness used so far and project the deadline at the new rate, as KitchenOrder.relocate
+        consumedMicros[i] += (now - segmentStarts[i]) * rate(i, current);
+        consumedSlack[i] += rate(i, current);
+        segmentStarts[i] = now;
+        expiries[i] = now + (long) Math.floor((freshnessMicros[i] - consumedMicros[i]) / rate(i, target.ordinal()));
+    }
+
+    private void pickup(int i, String orderId, long now, int current, Location target) {
+        if (target.ordinal() != current) {
+            violation("order " + orderId + " picked up from " + target + " but it is in " + LOCATIONS[current]);
+        }
+        if (now > expiries[i] + tolerance(i, current)) {
+            stalePickups++;
+            violation("order " + orderId + " picked up " + (now - expiries[i]) + "us after it expired");
+        } else {
+            deliveredValue += prices[i];
+        }
+        remove(i, current);
+    }
+
+    private void discard(int i, String orderId, long now, int current, Location target) {
+        if (target.ordinal() != current) {
+            violation("order " + orderId + " discarded from " + target + " but it is in " + LOCATIONS[current]);
+        }
+        boolean expired = now + tolerance(i, current) > expiries[i];
+        if (!expired && occupancy[current] < capacities[current]) {
+            violation("fresh order " + orderId + " discarded from " + LOCATIONS[current] + " which was not full");
+        }
+        wastedValue += prices[i];
+        remove(i, current);
+    }
+
+    private void store(int i, String orderId, Location target) {
+        int location = target.ordinal();
+        if (occupancy[location] >= capacities[location]) {
+            violation(target + " over capacity " + capacities[location] + " when storing order " + orderId);
+        }
+        occupancy[location]++;
+        states[i] = (byte) (STORED_BASE + location);
+    }
+
+    private void remove(int i, int current) {
+        occupancy[current]--;
+        states[i] = GONE;
+    }
+
+    /**
+     * How far the projected deadline may be off from the kitchen's, in whole microseconds
+     */
+    private long tolerance(int i, int current) {
+        return 1 + (long) Math.ceil(consumedSlack[i] / rate(i, current));
+    }
+
+    private boolean allowedIn(int i, Location location) {
+        return location == Location.SHELF
+                || FreshnessDecayModel.isIdeal(TEMPERATURES[temperatures[i]], location);
+    }
+
+    private double rate(int i, int location) {
+        return rates[temperatures[i]][location];
+    }
+
+    private void violation(String message) {
+        violationCount++;
+        if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+            violations.add("#" + (actions - 1) + " " + message);
+        }
+    }
+
+    /**
+     * The report for the actions accepted so far
+     */
+    public ValidationReport report() {
+        int unfinished = 0;
+        for (byte state : states) {
+            if (state >= STORED_BASE) {
+                unfinished++;
+            }
+        }
+        return new ValidationReport(
+                orderCount,
+                actions,
+                counts[ActionType.PLACE.ordinal()],
+                counts[ActionType.MOVE.ordinal()],
+                counts[ActionType.PICKUP.ordinal()],
+                counts[ActionType.DISCARD.ordinal()],
+                stalePickups,
+                unfinished,
+                violationCount,
+                List.copyOf(violations),
+                totalValue,
+                deliveredValue,
+                wastedValue);
+    }
+
+    private static Temperature parseTemperature(String raw) {
+        try {
+            return Temperature.fromString(raw.trim());
+        } catch (RuntimeException e) {
+            // same fallback as OrderAdapter
+            return Temperature.ROOM;
+        }
+    }
+
+    public static class Builder {
+        private final Map<Location, Integer> capacities = new EnumMap<>(Map.of(
+                Location.HEATER, HeaterStorage.DEFAULT_CAPACITY,
+                Location.COOLER, CoolerStorage.DEFAULT_CAPACITY,
+                Location.SHELF, ShelfStorage.DEFAULT_CAPACITY));
+        private FreshnessDecayModel decayModel = FreshnessDecayModel.uniform();
+
+        public Builder capacity(Location location, int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException(String.format("%s capacity must be positive: %d", location, capacity));
+            }
+            capacities.put(location, capacity);
+            return this;
+        }
+
+        public Builder decayModel(FreshnessDecayModel decayModel) {
+            this.decayModel = decayModel;
+            return this;
+        }
+
+        public ActionValidator build(Iterable<Order> orders) {
+            return new ActionValidator(this, orders);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.css.challenge.Validation;
+
+import java.util.List;
+
+/**
+ * Outcome of validating a run's actions against its orders.
+ *
+ * Values are summed order prices. The score is the share of the total order value delivered fresh,
+ * from 0 to 100, and 0 when any action broke the rules: a run the challenge server would reject
+ * scores nothing locally either.
+ */
+public record ValidationReport(
+        int orders,
+        long actions,
+        long placed,
+        long moved,
+        long pickedUp,
+        long discarded,
+        long stalePickups,
+        int unfinished,
+        long violationCount,
+        List<String> violations,
+        long totalValue,
+        long deliveredValue,
+        long wastedValue) {
+
+    public boolean isValid() {
+        return violationCount == 0;
+    }
+
+    public double score() {
+        if (!isValid() || totalValue == 0) {
+            return 0;
+        }
+        return 100.0 * deliveredValue / totalValue;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(isValid() ? "valid" : "invalid")
+                .append(String.format(": score=%.2f orders=%d actions=%d place=%d move=%d pickup=%d discard=%d",
+                        score(), orders, actions, placed, moved, pickedUp, discarded))
+                .append(" stalePickups=").append(stalePickups)
+                .append(" unfinished=").append(unfinished)
+                .append(" delivered=$").append(deliveredValue)
+                .append(" wasted=$").append(wastedValue);
+        if (!isValid()) {
+            report.append(' ').append(violationCount).append(" violations ").append(violations);
+        }
+        return report.toString();
+    }
+}
@@ -26,6 +26,13 @@ public class Action {
     this.target = target;
   }
 
+  public Action(long timestampMicros, String id, String action, String target) {
+    this.timestamp = timestampMicros;
+    this.id = id;
+    this.action = action;
+    this.target = target;
+  }
+
   public long getTimestamp() {
     return timestamp;
   }
@@ -0,0 +1,30 @@
+package com.css.challenge.client;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ActionStream hands a solution's actions to a writer one at a time, so a submission can be
+ * encoded straight from wherever the actions are stored without first collecting Action objects.
+ */
+@FunctionalInterface
+public interface ActionStream {
+
+  /** Writer receives each action in wire form, oldest first. */
+  @FunctionalInterface
+  interface Writer {
+    void write(long timestampMicros, String id, String action, String target) throws IOException;
+  }
+
+  void writeTo(Writer writer) throws IOException;
+
+  /** of streams an already built list of actions. */
+  static ActionStream of(List<Action> actions) {
+    return writer -> {
+      for (Action action : actions) {
+        writer.write(
+            action.getTimestamp(), action.getId(), action.getAction(), action.getTarget());
+      }
+    };
+  }
+}
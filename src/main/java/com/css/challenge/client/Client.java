@@ -1,100 +1,144 @@
 package com.css.challenge.client;
 
-import static simplehttp.HeaderList.headers;
-import static simplehttp.HeaderPair.header;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import simplehttp.*;
 
-/** Client is a client for fetching and solving challenge test problems. */
-public class Client {
+/**
+ * Client is a client for fetching and solving challenge test problems. newProblem reads the
+ * whole stream opened by openProblem (see OrderSource).
+ */
+public class Client implements OrderSource {
   private static final Logger LOGGER = LoggerFactory.getLogger(Client.class);
+  private static final int STREAM_CHUNK_BYTES = 64 * 1024;
 
   private final String endpoint;
   private final String auth;
-  private final HttpClient client;
 
   public Client(String endpoint, String auth) {
     this.endpoint = endpoint;
     this.auth = auth;
-    this.client = HttpClients.anApacheClient();
   }
 
   /**
-   * newProblem fetches a new test problem from the server. The URL also works in a browser for
-   * convenience.
+   * openProblem fetches a new test problem and returns as soon as the response headers arrive.
+   * Orders are parsed from the response body as they are read from the stream. The URL also
+   * works in a browser for convenience.
    */
-  public Problem newProblem(String name, long seed) throws IOException {
-    if (seed == 0) {
-      seed = new Random().nextLong();
-    }
+  @Override
+  public ProblemStream openProblem(String name, long seed) throws IOException {
+    URL url = newProblemUrl(name, seed);
+    HttpURLConnection connection = connect(url);
+    try {
+      String id = connection.getHeaderField("x-test-id");
 
-    URL url =
-        new URL(
-            endpoint + "/interview/challenge/new?auth=" + auth + "&name=" + name + "&seed=" + seed);
-    HttpResponse response = client.get(url);
-    if (!response.ok()) {
-      throw new IOException(url + ": " + response.getStatusMessage());
+      LOGGER.info("Streaming new test problem, id={}: {}", id, url);
+      // The connection stays open for the stream; closing the reader releases it
+      return new ProblemStream(id, new OrderReader(connection.getInputStream()));
+    } catch (IOException | RuntimeException e) {
+      connection.disconnect();
+      throw e;
     }
-    String id = response.getHeaders().get("x-test-id").value();
+  }
 
-    LOGGER.info("Fetched new test problem, id={}: {}", id, url);
-    return new Problem(id, Order.parse(response.getContent().asString()));
+  /**
+   * solveProblem submits a sequence of actions and parameters as a solution to a test problem.
+   * Returns test result.
+   */
+  public String solveProblem(
+      String testId, Duration rate, Duration min, Duration max, List<Action> actions)
+      throws IOException {
+    return solveProblem(testId, rate, min, max, ActionStream.of(actions), false);
   }
 
-  private static class Options {
-    public long rate;
-    public long min;
-    public long max;
+  /**
+   * solveProblem streams a solution to a test problem instead of encoding it to one String first.
+   * Actions are written to the request body as they are produced, with chunked transfer encoding
+   * and optionally gzip, so memory use does not grow with the number of actions. Returns test
+   * result.
+   */
+  @Override
+  public String solveProblem(
+      String testId, Duration rate, Duration min, Duration max, ActionStream actions, boolean gzip)
+      throws IOException {
+    URL url = url("/interview/challenge/solve", "auth=" + encode(auth));
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.setChunkedStreamingMode(STREAM_CHUNK_BYTES);
+      connection.setRequestProperty("Content-Type", "application/json");
+      connection.setRequestProperty("x-test-id", testId);
+      if (gzip) {
+        connection.setRequestProperty("Content-Encoding", "gzip");
+      }
 
-    Options(Duration rate, Duration min, Duration max) {
-      this.rate = TimeUnit.MILLISECONDS.toMicros(rate.toMillis());
-      this.min = TimeUnit.MILLISECONDS.toMicros(min.toMillis());
-      this.max = TimeUnit.MILLISECONDS.toMicros(max.toMillis());
+      OutputStream body =
+          gzip
+              ? new GZIPOutputStream(connection.getOutputStream(), STREAM_CHUNK_BYTES)
+              : new BufferedOutputStream(connection.getOutputStream(), STREAM_CHUNK_BYTES);
+      long count = SolutionWriter.write(body, rate, min, max, actions);
+      LOGGER.info("Streamed {} actions for test {} (gzip={})", count, testId, gzip);
+      checkStatus(url, connection);
+      try (InputStream in = connection.getInputStream()) {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      }
+    } finally {
+      connection.disconnect();
     }
   }
 
-  private static class Solution {
-    public Options options;
-    public List<Action> actions;
-
-    Solution(Options options, List<Action> actions) {
-      this.options = options;
-      this.actions = actions;
+  /** newProblemUrl is the URL of a new problem; seed 0 picks a random seed. */
+  private URL newProblemUrl(String name, long seed) throws IOException {
+    if (seed == 0) {
+      seed = new Random().nextLong();
     }
+    return url(
+        "/interview/challenge/new",
+        "auth=" + encode(auth) + "&name=" + encode(name) + "&seed=" + seed);
+  }
 
-    String encode() throws IOException {
-      return new ObjectMapper().writeValueAsString(this);
+  private URL url(String path, String query) throws IOException {
+    try {
+      return URI.create(endpoint + path + "?" + query).toURL();
+    } catch (IllegalArgumentException e) {
+      throw new MalformedURLException("Invalid endpoint " + endpoint + ": " + e.getMessage());
     }
   }
 
-  /**
-   * solveProblem submits a sequence of actions and parameters as a solution to a test problem.
-   * Returns test result.
-   */
-  public String solveProblem(
-      String testId, Duration rate, Duration min, Duration max, List<Action> actions)
-      throws IOException {
-    Solution solution = new Solution(new Options(rate, min, max), actions);
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  /** connect sends a GET request and returns the connection once a successful status arrives. */
+  private static HttpURLConnection connect(URL url) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      checkStatus(url, connection);
+      return connection;
+    } catch (IOException | RuntimeException e) {
+      connection.disconnect();
+      throw e;
+    }
+  }
 
-    URL url = new URL(endpoint + "/interview/challenge/solve?auth=" + auth);
-    HttpResponse response =
-        client.post(
-            url,
-            new UnencodedStringMessage(
-                solution.encode(),
-                headers(header("Content-Type", "application/json"), header("x-test-id", testId))));
-    if (!response.ok()) {
-      throw new IOException(url + ": " + response.getStatusMessage());
+  private static void checkStatus(URL url, HttpURLConnection connection) throws IOException {
+    int status = connection.getResponseCode();
+    if (status < 200 || status >= 300) {
+      throw new IOException(url + ": " + connection.getResponseMessage());
     }
-    return response.getContent().asString();
   }
 }
@@ -0,0 +1,18 @@
+package com.css.challenge.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.util.List;
+
+/**
+ * Json holds the shared Jackson mapper. ObjectMapper, ObjectReader and ObjectWriter are thread
+ * safe once configured, so they are built once instead of per call.
+ */
+final class Json {
+  static final ObjectMapper MAPPER = new ObjectMapper();
+  static final ObjectReader ORDER = MAPPER.readerFor(Order.class);
+  static final ObjectReader ORDERS = MAPPER.readerFor(new TypeReference<List<Order>>() {});
+
+  private Json() {}
+}
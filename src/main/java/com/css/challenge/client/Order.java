@@ -2,8 +2,6 @@ package com.css.challenge.client;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 
 /** Order is a json-friendly representation of an order. */
@@ -28,7 +26,7 @@ public class Order {
   }
 
   static List<Order> parse(String json) throws JsonProcessingException {
-    return new ObjectMapper().readValue(json, new TypeReference<List<Order>>() {});
+    return Json.ORDERS.readValue(json);
   }
 
   public String getId() {
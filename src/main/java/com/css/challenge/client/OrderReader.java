@@ -0,0 +1,61 @@
+package com.css.challenge.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * OrderReader parses a JSON array of orders incrementally with Jackson's streaming parser. Only
+ * the order being read is held in memory, so orders are available as soon as they arrive and the
+ * whole problem never has to be buffered. Parse errors surface as UncheckedIOException.
+ */
+public class OrderReader implements Iterator<Order>, Closeable {
+  private final JsonParser parser;
+  private Order next;
+  private boolean done;
+
+  public OrderReader(InputStream in) throws IOException {
+    this.parser = Json.MAPPER.getFactory().createParser(in);
+    if (parser.nextToken() != JsonToken.START_ARRAY) {
+      parser.close();
+      throw new IOException("Expected a JSON array of orders");
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !done) {
+      try {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+          done = true;
+        } else {
+          next = Json.ORDER.readValue(parser);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public Order next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Order order = next;
+    next = null;
+    return order;
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+}
@@ -0,0 +1,30 @@
+package com.css.challenge.client;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OrderSource is where test problems come from and where solutions go: the challenge server
+ * (Client, also used against a local stand-in server) or offline order-trace files.
+ */
+public interface OrderSource {
+
+  /** openProblem starts a new test problem whose orders are read as they arrive. */
+  ProblemStream openProblem(String name, long seed) throws IOException;
+
+  /** newProblem fetches a new test problem with all of its orders. */
+  default Problem newProblem(String name, long seed) throws IOException {
+    try (ProblemStream problem = openProblem(name, seed)) {
+      List<Order> orders = new ArrayList<>();
+      problem.getOrders().forEachRemaining(orders::add);
+      return new Problem(problem.getTestId(), orders);
+    }
+  }
+
+  /** solveProblem submits the actions and parameters as a solution. Returns test result. */
+  String solveProblem(
+      String testId, Duration rate, Duration min, Duration max, ActionStream actions, boolean gzip)
+      throws IOException;
+}
@@ -0,0 +1,28 @@
+package com.css.challenge.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/** ProblemStream is a test problem whose orders are read while they are still arriving. */
+public class ProblemStream implements Closeable {
+  private final String testId;
+  private final OrderReader orders;
+
+  public ProblemStream(String testId, OrderReader orders) {
+    this.testId = testId;
+    this.orders = orders;
+  }
+
+  public String getTestId() {
+    return testId;
+  }
+
+  public OrderReader getOrders() {
+    return orders;
+  }
+
+  @Override
+  public void close() throws IOException {
+    orders.close();
+  }
+}
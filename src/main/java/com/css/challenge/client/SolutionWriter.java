@@ -0,0 +1,46 @@
+package com.css.challenge.client;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SolutionWriter encodes a solution ({"options": {...}, "actions": [...]}) with a JsonGenerator,
+ * one action at a time, so the encoded solution is never held in memory.
+ */
+public final class SolutionWriter {
+
+  private SolutionWriter() {}
+
+  /** write encodes the solution to out and closes it. Returns the number of actions written. */
+  public static long write(
+      OutputStream out, Duration rate, Duration min, Duration max, ActionStream actions)
+      throws IOException {
+    long[] count = {0};
+    try (JsonGenerator json = Json.MAPPER.getFactory().createGenerator(out)) {
+      json.writeStartObject();
+      json.writeObjectFieldStart("options");
+      json.writeNumberField("rate", TimeUnit.MILLISECONDS.toMicros(rate.toMillis()));
+      json.writeNumberField("min", TimeUnit.MILLISECONDS.toMicros(min.toMillis()));
+      json.writeNumberField("max", TimeUnit.MILLISECONDS.toMicros(max.toMillis()));
+      json.writeEndObject();
+
+      json.writeArrayFieldStart("actions");
+      actions.writeTo(
+          (timestamp, id, action, target) -> {
+            json.writeStartObject();
+            json.writeNumberField("timestamp", timestamp);
+            json.writeStringField("id", id);
+            json.writeStringField("action", action);
+            json.writeStringField("target", target);
+            json.writeEndObject();
+            count[0]++;
+          });
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+    return count[0];
+  }
+}
@@ -0,0 +1,93 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedActionJournalTest {
+
+    // 2 byte length + 3 id bytes: 819 entries end on the last byte of a 4096 byte segment
+    private static final int ID_COUNT = 2_000;
+
+    @TempDir
+    Path dir;
+
+    private static String id(int i) {
+        return String.format("%03x", i);
+    }
+
+    private static List<String> expected(int count) {
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(record(i, id(i), ActionType.PLACE, Location.SHELF));
+            records.add(record(i, id(i), ActionType.PICKUP, Location.SHELF));
+        }
+        return records;
+    }
+
+    private static String record(long timestamp, String id, ActionType type, Location target) {
+        return timestamp + " " + id + " " + type + " " + target;
+    }
+
+    private static void append(MappedActionJournal journal, int from, int to) {
+        for (int i = from; i < to; i++) {
+            journal.append(i, id(i), ActionType.PLACE, Location.SHELF);
+            journal.append(i, id(i), ActionType.PICKUP, Location.SHELF);
+        }
+    }
+
+    private static List<String> read(Path base) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (ActionJournalReader reader = new ActionJournalReader(base)) {
+            reader.forEach((sequence, timestamp, idRef, action, target) ->
+                    records.add(record(timestamp, reader.id(idRef), action, target)));
+        }
+        return records;
+    }
+
+    @Test
+    void oddLengthIdsCrossSegmentsThatEndOneByteShort() throws IOException {
+        Path base = dir.resolve("journal");
+        try (MappedActionJournal journal = new MappedActionJournal(base, JournalFormat.MIN_SEGMENT_SIZE)) {
+            append(journal, 0, ID_COUNT);
+        }
+
+        try (ActionJournalReader reader = new ActionJournalReader(base)) {
+            assertEquals(ID_COUNT, reader.getIdCount());
+            assertEquals(2L * ID_COUNT, reader.getRecordCount());
+        }
+        assertEquals(expected(ID_COUNT), read(base));
+    }
+
+    @Test
+    void reopenedJournalReloadsItsIdsAndKeepsAppending() throws IOException {
+        Path base = dir.resolve("journal");
+        try (MappedActionJournal journal = new MappedActionJournal(base, JournalFormat.MIN_SEGMENT_SIZE)) {
+            append(journal, 0, ID_COUNT / 2);
+        }
+        try (MappedActionJournal journal = new MappedActionJournal(base)) {
+            // The stored segment size wins over the default, and known ids keep their references
+            journal.append(0, id(0), ActionType.DISCARD, Location.SHELF);
+            append(journal, ID_COUNT / 2, ID_COUNT);
+
+            List<String> sinkRecords = new ArrayList<>();
+            journal.forEachRecordSince(0, (sequence, timestamp, id, type, target) ->
+                    sinkRecords.add(record(timestamp, id, type, target)));
+            assertEquals(read(base), sinkRecords);
+        }
+
+        List<String> expected = expected(ID_COUNT);
+        expected.add(ID_COUNT, record(0, id(0), ActionType.DISCARD, Location.SHELF));
+        assertEquals(expected, read(base));
+        try (ActionJournalReader reader = new ActionJournalReader(base)) {
+            assertEquals(ID_COUNT, reader.getIdCount());
+        }
+    }
+}
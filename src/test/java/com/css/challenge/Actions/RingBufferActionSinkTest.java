@@ -0,0 +1,71 @@
+package com.css.challenge.Actions;
+
+import com.css.challenge.Business.Location;
+import com.css.challenge.client.Action;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferActionSinkTest {
+
+    // Each action's timestamp is its sequence number, so a read shows exactly which ones it returned
+    private static void append(ActionSink sink, int count) {
+        for (int i = 0; i < count; i++) {
+            long sequence = sink.nextSequence();
+            sink.append(sequence, "o" + sequence, ActionType.PLACE, Location.SHELF);
+        }
+    }
+
+    private static List<Long> timestamps(ActionSink.Batch batch) {
+        return batch.actions().stream().map(Action::getTimestamp).toList();
+    }
+
+    @Test
+    void batchCursorSkipsOnlyWhatWasEvicted() {
+        RingBufferActionSink sink = new RingBufferActionSink(4);
+        append(sink, 3);
+        ActionSink.Batch first = sink.actionsSince(0);
+        assertEquals(List.of(0L, 1L, 2L), timestamps(first));
+        assertEquals(3, first.nextSequence());
+
+        append(sink, 6);
+        ActionSink.Batch second = sink.actionsSince(first.nextSequence());
+        assertEquals(5, second.firstSequence());
+        assertEquals(List.of(5L, 6L, 7L, 8L), timestamps(second));
+        assertEquals(9, second.nextSequence());
+
+        ActionSink.Batch empty = sink.actionsSince(second.nextSequence());
+        assertTrue(empty.actions().isEmpty());
+        assertEquals(9, empty.nextSequence());
+        assertEquals(9, empty.firstSequence());
+    }
+
+    @Test
+    void cursorReaderNeverRereadsWhileAppendsEvict() throws InterruptedException {
+        int total = 200_000;
+        RingBufferActionSink sink = new RingBufferActionSink(64);
+        Thread writer = Thread.ofPlatform().start(() -> append(sink, total));
+
+        long cursor = 0;
+        long last = -1;
+        long read = 0;
+        while (writer.isAlive() || cursor < sink.nextSequence()) {
+            ActionSink.Batch batch = sink.actionsSince(cursor);
+            for (long timestamp : timestamps(batch)) {
+                assertTrue(timestamp > last, "read " + timestamp + " after " + last);
+                last = timestamp;
+                read++;
+            }
+            assertTrue(batch.nextSequence() >= cursor);
+            cursor = batch.nextSequence();
+        }
+        writer.join();
+
+        assertEquals(total, cursor);
+        assertEquals(total - 1, last);
+        assertTrue(read <= total);
+    }
+}
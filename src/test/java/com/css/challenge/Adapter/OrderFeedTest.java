@@ -0,0 +1,96 @@
+package com.css.challenge.Adapter;
+
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.client.Order;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderFeedTest {
+
+    /**
+     * Yields count orders, then throws failure (if any) instead of ending
+     */
+    private static Iterator<Order> source(int count, Throwable failure) {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count || failure != null;
+            }
+
+            @Override
+            public Order next() {
+                if (index == count) {
+                    if (failure instanceof Error error) {
+                        throw error;
+                    }
+                    throw (RuntimeException) failure;
+                }
+                return new Order("o" + index++, "Ramen", "hot", 10, 30);
+            }
+        };
+    }
+
+    @Test
+    void deliversEveryOrderInSourceOrderThroughASmallQueue() throws IOException {
+        try (OrderFeed feed = new OrderFeed(source(50, null), Clock.systemUTC(), 2)) {
+            List<String> ids = new ArrayList<>();
+            feed.forEachRemaining(order -> ids.add(order.getId()));
+
+            assertEquals(50, ids.size());
+            assertEquals("o0", ids.get(0));
+            assertEquals("o49", ids.get(49));
+            assertFalse(feed.hasNext());
+            assertThrows(NoSuchElementException.class, feed::next);
+        }
+    }
+
+    @Test
+    void convertsOrdersToTheDomain() throws IOException {
+        try (OrderFeed feed = new OrderFeed(source(1, null), Clock.systemUTC())) {
+            assertEquals(Temperature.HOT, feed.next().getTemperature());
+        }
+    }
+
+    @Test
+    void rethrowsAReaderFailureAfterTheOrdersReadBeforeItAndOnEveryLaterCall() throws IOException {
+        UncheckedIOException failure = new UncheckedIOException(new IOException("connection reset"));
+        try (OrderFeed feed = new OrderFeed(source(5, failure), Clock.systemUTC(), 2)) {
+            List<String> ids = new ArrayList<>();
+            IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                    () -> feed.forEachRemaining(order -> ids.add(order.getId())));
+
+            assertEquals(List.of("o0", "o1", "o2", "o3", "o4"), ids);
+            assertSame(failure, thrown.getCause());
+            assertSame(failure, assertThrows(IllegalStateException.class, feed::hasNext).getCause());
+            assertSame(failure, assertThrows(IllegalStateException.class, feed::next).getCause());
+        }
+    }
+
+    @Test
+    void rethrowsErrorsFromTheReader() throws IOException {
+        try (OrderFeed feed = new OrderFeed(source(0, new AssertionError("boom")), Clock.systemUTC())) {
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, feed::hasNext);
+            assertInstanceOf(AssertionError.class, thrown.getCause());
+        }
+    }
+
+    @Test
+    void rejectsANonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderFeed(source(0, null), Clock.systemUTC(), 0));
+    }
+}
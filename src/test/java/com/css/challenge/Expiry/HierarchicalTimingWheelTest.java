@@ -0,0 +1,79 @@
+package com.css.challenge.Expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    @Test
+    void firesEveryTimerAfterItsDeadlineAndAtMostATickLate() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        SplittableRandom random = new SplittableRandom(11);
+        Map<String, Instant> deadlines = new HashMap<>();
+        // Spread over hours so timers start in every level and cascade down
+        for (int i = 0; i < 2_000; i++) {
+            Instant deadline = START.plusMillis(random.nextLong(3 * 3_600_000L));
+            deadlines.put("o" + i, deadline);
+            wheel.schedule("o" + i, deadline);
+        }
+
+        Instant now = START;
+        while (!deadlines.isEmpty()) {
+            now = now.plus(TICK);
+            for (String id : wheel.advance(now)) {
+                Instant deadline = deadlines.remove(id);
+                assertTrue(now.isAfter(deadline), id + " fired at " + now + " before its deadline " + deadline);
+                assertFalse(now.isAfter(deadline.plus(TICK.multipliedBy(2))), id + " fired late at " + now);
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advanceJumpsOverIdleStretchesAndReturnsTimersInDeadlineOrder() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        wheel.schedule("late", START.plus(Duration.ofHours(2)));
+        wheel.schedule("early", START.plusSeconds(1));
+        wheel.schedule("middle", START.plus(Duration.ofMinutes(10)));
+
+        assertEquals(List.of("early"), wheel.advance(START.plusSeconds(2)));
+        assertEquals(List.of("middle", "late"), wheel.advance(START.plus(Duration.ofHours(3))));
+    }
+
+    @Test
+    void cancelledAndRescheduledTimersFireOnlyAtTheirLatestDeadline() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        wheel.schedule("cancelled", START.plusSeconds(1));
+        wheel.schedule("moved", START.plusSeconds(1));
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+        wheel.schedule("moved", START.plusSeconds(5));
+
+        assertEquals(List.of(), wheel.advance(START.plusSeconds(2)));
+        assertTrue(wheel.isScheduled("moved"));
+        assertEquals(List.of("moved"), wheel.advance(START.plusSeconds(6)));
+        assertFalse(wheel.isScheduled("moved"));
+    }
+
+    @Test
+    void timersAlreadyDueFireOnTheNextAdvance() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, START);
+        wheel.advance(START.plusSeconds(10));
+        wheel.schedule("overdue", START.plusSeconds(1));
+
+        assertEquals(List.of("overdue"), wheel.advance(START.plusSeconds(10)));
+    }
+}
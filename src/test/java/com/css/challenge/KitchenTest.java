@@ -0,0 +1,244 @@
+package com.css.challenge;
+
+import com.css.challenge.Business.KitchenOrder;
+import com.css.challenge.Business.Location;
+import com.css.challenge.Business.Temperature;
+import com.css.challenge.Storage.CoolerStorage;
+import com.css.challenge.Storage.HeaterStorage;
+import com.css.challenge.Storage.ShelfStorage;
+import com.css.challenge.Strategies.FreshnessDiscardStrategy;
+import com.css.challenge.client.Action;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KitchenTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Temperature[] TEMPERATURES = Temperature.values();
+
+    private static Kitchen kitchen(Kitchen.LockingMode lockingMode, ShelfStorage shelf) {
+        return Kitchen.builder()
+                .heater(new HeaterStorage())
+                .cooler(new CoolerStorage())
+                .shelf(shelf)
+                .discardStrategy(new FreshnessDiscardStrategy())
+                .lockingMode(lockingMode)
+                .build();
+    }
+
+    private static Kitchen kitchen(Kitchen.LockingMode lockingMode) {
+        return kitchen(lockingMode, new ShelfStorage());
+    }
+
+    private static KitchenOrder order(String id, Temperature temperature, Duration freshness) {
+        return KitchenOrder.builder()
+                .id(id)
+                .name("test-" + temperature)
+                .temperature(temperature)
+                .price(BigDecimal.ONE)
+                .freshness(freshness)
+                .build();
+    }
+
+    /**
+     * Mixed temperatures and freshness, enough to fill every storage and overflow the shelf
+     */
+    private static List<KitchenOrder> orders(int count) {
+        List<KitchenOrder> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(order("o" + i, TEMPERATURES[i % TEMPERATURES.length], Duration.ofSeconds(5 + (i * 7) % 40)));
+        }
+        return orders;
+    }
+
+    private static List<String> actions(Kitchen kitchen) {
+        return kitchen.getActions().stream().map(Action::toString).toList();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Kitchen.LockingMode.class)
+    void indexStaysConsistentThroughPlaceMovePickupAndDiscard(Kitchen.LockingMode lockingMode) {
+        Kitchen kitchen = kitchen(lockingMode);
+        List<KitchenOrder> orders = orders(60);
+
+        // A burst overflows the shelf, then pickups free heater and cooler slots for shelf orders
+        for (int i = 0; i < orders.size(); i++) {
+            kitchen.placeOrder(orders.get(i), START.plusMillis(i));
+            kitchen.verifyIndexConsistency();
+        }
+        for (int i = 0; i < orders.size(); i += 2) {
+            kitchen.pickupOrder(orders.get(i).getId(), START.plusSeconds(1 + i / 4));
+            kitchen.verifyIndexConsistency();
+        }
+        kitchen.pickupOrders(orders.stream().map(KitchenOrder::getId).toList(), START.plusSeconds(70));
+        kitchen.verifyIndexConsistency();
+
+        assertTrue(kitchen.getTotalOrdersMoved() > 0, "the run should move shelf orders home");
+        assertTrue(kitchen.getTotalOrdersDiscardedExpired() > 0, "the run should discard orders");
+        assertTrue(orders.stream().allMatch(o -> kitchen.findOrder(o.getId()).isEmpty()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Kitchen.LockingMode.class)
+    void indexStaysConsistentUnderConcurrentPlacementAndPickup(Kitchen.LockingMode lockingMode) throws InterruptedException {
+        Kitchen kitchen = kitchen(lockingMode);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    String id = "t" + thread + "-" + i;
+                    Instant now = START.plusMillis(i);
+                    kitchen.placeOrder(order(id, TEMPERATURES[i % TEMPERATURES.length], Duration.ofSeconds(1 + i % 5)), now);
+                    if (i % 2 == 1) {
+                        kitchen.pickupOrder("t" + thread + "-" + (i - 1), now);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertDoesNotThrow(kitchen::verifyIndexConsistency);
+    }
+
+    @Test
+    void verifyIndexConsistencyReportsOrdersRemovedBehindTheKitchensBack() {
+        ShelfStorage shelf = new ShelfStorage();
+        Kitchen kitchen = kitchen(Kitchen.LockingMode.GLOBAL, shelf);
+        // The heater holds six, so the seventh hot order goes to the shelf
+        for (int i = 0; i <= HeaterStorage.DEFAULT_CAPACITY; i++) {
+            kitchen.placeOrder(order("hot" + i, Temperature.HOT, Duration.ofMinutes(5)), START);
+        }
+        String onShelf = "hot" + HeaterStorage.DEFAULT_CAPACITY;
+        assertTrue(shelf.findById(onShelf).isPresent());
+
+        shelf.remove(onShelf);
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, kitchen::verifyIndexConsistency);
+        assertTrue(failure.getMessage().contains(onShelf), failure.getMessage());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Kitchen.LockingMode.class)
+    void placeOrdersRecordsTheSameActionsAsPlacingOneByOne(Kitchen.LockingMode lockingMode) {
+        Kitchen sequential = kitchen(lockingMode);
+        Kitchen batched = kitchen(lockingMode);
+
+        for (int burst = 0; burst < 4; burst++) {
+            Instant now = START.plusSeconds(burst * 3L);
+            List<KitchenOrder> burstOrders = new ArrayList<>();
+            for (KitchenOrder order : orders(20)) {
+                String id = burst + "-" + order.getId();
+                sequential.placeOrder(order(id, order.getTemperature(), order.getFreshnessDuration()), now);
+                burstOrders.add(order(id, order.getTemperature(), order.getFreshnessDuration()));
+            }
+            batched.placeOrders(burstOrders, now);
+        }
+
+        assertEquals(actions(sequential), actions(batched));
+        batched.verifyIndexConsistency();
+    }
+
+    /**
+     * One free heater slot, two free cooler slots and a full shelf of hot, cold and room orders,
+     * one of them expired by START + 10s
+     */
+    private static Kitchen crowdedKitchen(Kitchen.LockingMode lockingMode) {
+        Kitchen kitchen = kitchen(lockingMode);
+        for (int i = 0; i < HeaterStorage.DEFAULT_CAPACITY - 1; i++) {
+            kitchen.restoreOrder(order("heater" + i, Temperature.HOT, Duration.ofMinutes(5)), Location.HEATER, START);
+        }
+        for (int i = 0; i < CoolerStorage.DEFAULT_CAPACITY - 2; i++) {
+            kitchen.restoreOrder(order("cooler" + i, Temperature.COLD, Duration.ofMinutes(5)), Location.COOLER, START);
+        }
+        kitchen.restoreOrder(order("shelf-expired", Temperature.HOT, Duration.ofSeconds(5)), Location.SHELF, START);
+        for (int i = 1; i < ShelfStorage.DEFAULT_CAPACITY; i++) {
+            Duration freshness = Duration.ofSeconds(30 + (i * 37) % 120);
+            kitchen.restoreOrder(order("shelf" + i, TEMPERATURES[i % TEMPERATURES.length], freshness), Location.SHELF, START);
+        }
+        return kitchen;
+    }
+
+    @ParameterizedTest
+    @EnumSource(Kitchen.LockingMode.class)
+    void placeOrdersMovesAndDiscardsLikePlacingOneByOne(Kitchen.LockingMode lockingMode) {
+        Kitchen sequential = crowdedKitchen(lockingMode);
+        Kitchen batched = crowdedKitchen(lockingMode);
+        Instant now = START.plusSeconds(10);
+
+        // Room orders first take the moves home, then everything overflowing discards, including
+        // short-lived burst orders that went onto the shelf earlier in the same burst
+        List<KitchenOrder> burst = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            burst.add(order("room" + i, Temperature.ROOM, Duration.ofSeconds(1 + i)));
+        }
+        burst.addAll(orders(24));
+        List<KitchenOrder> burstOrders = new ArrayList<>();
+        for (KitchenOrder order : burst) {
+            sequential.placeOrder(order(order.getId(), order.getTemperature(), order.getFreshnessDuration()), now);
+            burstOrders.add(order(order.getId(), order.getTemperature(), order.getFreshnessDuration()));
+        }
+        batched.placeOrders(burstOrders, now);
+
+        List<String> actions = actions(batched);
+        assertEquals(actions(sequential), actions);
+        assertTrue(actions.stream().anyMatch(a -> a.contains("action: " + Action.MOVE)), "the burst should move shelf orders home");
+        assertTrue(actions.stream().anyMatch(a -> a.contains("id: room0,") && a.contains("action: " + Action.DISCARD)),
+                "the burst should discard its own shelf orders");
+        batched.verifyIndexConsistency();
+    }
+
+    @Test
+    void pickupOrdersReportsAStatusPerIdInTheOrderGiven() {
+        Kitchen kitchen = kitchen(Kitchen.LockingMode.GLOBAL);
+        kitchen.placeOrder(order("fresh", Temperature.HOT, Duration.ofMinutes(1)), START);
+        kitchen.placeOrder(order("stale", Temperature.COLD, Duration.ofSeconds(1)), START);
+        kitchen.placeOrder(order("expired", Temperature.COLD, Duration.ofSeconds(1)), START);
+        kitchen.placeOrder(order("early", Temperature.ROOM, Duration.ofMinutes(1)), START);
+        assertTrue(kitchen.pickupOrder("early", START.plusSeconds(1)).isPresent());
+        assertTrue(kitchen.expireOrder("expired", START.plusSeconds(2)));
+
+        // Filling the shelf pushes out its least fresh order while it is still fresh
+        kitchen.placeOrder(order("crowded", Temperature.ROOM, Duration.ofSeconds(30)), START);
+        for (int i = 0; i < ShelfStorage.DEFAULT_CAPACITY; i++) {
+            kitchen.placeOrder(order("room" + i, Temperature.ROOM, Duration.ofMinutes(5)), START.plusSeconds(2));
+        }
+        assertTrue(kitchen.findOrder("crowded").isEmpty());
+
+        List<String> ids = List.of("fresh", "stale", "never", "early", "expired", "crowded", "fresh");
+        List<Kitchen.PickupResult> results = kitchen.pickupOrders(ids, START.plusSeconds(5));
+
+        assertEquals(ids, results.stream().map(Kitchen.PickupResult::id).toList());
+        assertEquals(List.of(
+                        Kitchen.PickupStatus.PICKED_UP,
+                        Kitchen.PickupStatus.DISCARDED_EXPIRED,
+                        Kitchen.PickupStatus.UNKNOWN,
+                        Kitchen.PickupStatus.UNKNOWN,
+                        Kitchen.PickupStatus.DISCARDED_EXPIRED,
+                        Kitchen.PickupStatus.DISCARDED_OVERFLOW,
+                        Kitchen.PickupStatus.UNKNOWN),
+                results.stream().map(Kitchen.PickupResult::status).toList());
+        assertEquals("fresh", results.get(0).order().orElseThrow().getId());
+        assertFalse(results.get(1).order().isPresent());
+        kitchen.verifyIndexConsistency();
+        assertTrue(kitchen.findOrder("stale").isEmpty());
+
+        // The wave is timed once, apart from the single pickup before it
+        assertEquals(1, kitchen.metricsSnapshot().pickupWaveLatency().count());
+        assertEquals(1, kitchen.metricsSnapshot().pickupLatency().count());
+    }
+}
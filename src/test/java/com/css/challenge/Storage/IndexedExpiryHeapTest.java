@@ -0,0 +1,100 @@
+package com.css.challenge.Storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexedExpiryHeapTest {
+
+    /**
+     * Drain the heap through peek and remove, returning the ids earliest deadline first
+     */
+    private static List<String> drain(IndexedExpiryHeap<String> heap) {
+        List<String> drained = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            String id = heap.peek();
+            drained.add(id);
+            heap.remove(id);
+        }
+        return drained;
+    }
+
+    @Test
+    void peeksTheEarliestDeadlineAndBreaksTiesByInsertionOrder() {
+        IndexedExpiryHeap<String> heap = new IndexedExpiryHeap<>(2);
+        heap.add("c", "c", 30);
+        heap.add("a", "a", 10);
+        heap.add("b1", "b1", 20);
+        heap.add("b2", "b2", 20);
+
+        assertEquals("a", heap.peek());
+        assertEquals(10, heap.peekDeadline());
+        assertEquals(List.of("a", "b1", "b2", "c"), drain(heap));
+        assertNull(heap.peek());
+        assertEquals(Long.MAX_VALUE, heap.peekDeadline());
+    }
+
+    @Test
+    void removeByIdAndReAddKeepTheHeapOrdered() {
+        SplittableRandom random = new SplittableRandom(7);
+        IndexedExpiryHeap<String> heap = new IndexedExpiryHeap<>(4);
+        long[] deadlines = new long[500];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = random.nextLong(1_000);
+            heap.add("o" + i, "o" + i, deadlines[i]);
+        }
+        // Remove from the middle of the heap and move deadlines by re-adding
+        for (int i = 0; i < deadlines.length; i += 3) {
+            assertEquals("o" + i, heap.remove("o" + i));
+            assertFalse(heap.contains("o" + i));
+        }
+        for (int i = 1; i < deadlines.length; i += 3) {
+            deadlines[i] = random.nextLong(1_000);
+            heap.add("o" + i, "o" + i, deadlines[i]);
+        }
+        assertEquals(deadlines.length - (deadlines.length + 2) / 3, heap.size());
+
+        long previous = Long.MIN_VALUE;
+        for (String id : drain(heap)) {
+            long deadline = deadlines[Integer.parseInt(id.substring(1))];
+            assertTrue(deadline >= previous, id + " came out of deadline order");
+            previous = deadline;
+        }
+        assertNull(heap.remove("o1"));
+    }
+
+    @Test
+    void orderedIteratorWalksDeadlineOrderWithoutChangingTheHeap() {
+        IndexedExpiryHeap<String> heap = new IndexedExpiryHeap<>(4);
+        for (int i = 0; i < 100; i++) {
+            heap.add("o" + i, "o" + i, (i * 37) % 100);
+        }
+        List<String> walked = new ArrayList<>();
+        heap.orderedIterator().forEachRemaining(walked::add);
+
+        assertEquals(100, heap.size());
+        assertEquals(drain(heap), walked);
+    }
+
+    @Test
+    void orderedIteratorFailsFastWhenTheHeapChanges() {
+        IndexedExpiryHeap<String> heap = new IndexedExpiryHeap<>(4);
+        heap.add("a", "a", 1);
+        heap.add("b", "b", 2);
+        Iterator<String> iterator = heap.orderedIterator();
+        iterator.next();
+        heap.add("c", "c", 3);
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
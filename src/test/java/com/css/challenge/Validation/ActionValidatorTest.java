@@ -0,0 +1,185 @@
+package com.css.challenge.Validation;
+
+import com.css.challenge.Actions.ActionType;
+import com.css.challenge.Business.FreshnessDecayModel;
+import com.css.challenge.Business.Location;
+import com.css.challenge.client.Action;
+import com.css.challenge.client.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActionValidatorTest {
+
+    private static final long T0 = 1_700_000_000_000_000L;
+    private static final long SECOND = 1_000_000L;
+
+    // hot and cold orders stay fresh for 30 seconds at rate 1
+    private static final List<Order> ORDERS = List.of(
+            new Order("hot", "Ramen", "hot", 10, 30),
+            new Order("cold", "Sushi", "cold", 30, 30),
+            new Order("room", "Bagel", "room", 5, 30));
+
+    private static ActionValidator validator() {
+        return ActionValidator.builder().build(ORDERS);
+    }
+
+    private static void assertViolation(ValidationReport report, String fragment) {
+        assertFalse(report.isValid(), report.toString());
+        assertEquals(0, report.score());
+        assertTrue(report.violations().stream().anyMatch(v -> v.contains(fragment)),
+                "expected a violation mentioning '" + fragment + "' in " + report.violations());
+    }
+
+    @Test
+    void scoresTheShareOfValueDeliveredFresh() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "hot", ActionType.PLACE, Location.HEATER);
+        validator.accept(T0, "cold", ActionType.PLACE, Location.COOLER);
+        validator.accept(T0, "room", ActionType.PLACE, Location.SHELF);
+        validator.accept(T0 + 10 * SECOND, "hot", ActionType.PICKUP, Location.HEATER);
+        validator.accept(T0 + 20 * SECOND, "room", ActionType.PICKUP, Location.SHELF);
+        validator.accept(T0 + 31 * SECOND, "cold", ActionType.DISCARD, Location.COOLER);
+
+        ValidationReport report = validator.report();
+        assertTrue(report.isValid(), report.toString());
+        assertEquals(6, report.actions());
+        assertEquals(2, report.pickedUp());
+        assertEquals(1, report.discarded());
+        assertEquals(0, report.unfinished());
+        assertEquals(15, report.deliveredValue());
+        assertEquals(30, report.wastedValue());
+        assertEquals(100.0 * 15 / 45, report.score(), 1e-9);
+    }
+
+    @Test
+    void acceptsWireActionsThroughValidate() {
+        ValidationReport report = ActionValidator.validate(ORDERS, List.of(
+                new Action(T0, "hot", "place", "heater"),
+                new Action(T0 + SECOND, "hot", "pickup", "heater")));
+
+        assertTrue(report.isValid(), report.toString());
+        assertEquals(1, report.placed());
+        assertEquals(1, report.pickedUp());
+        assertEquals(10, report.deliveredValue());
+    }
+
+    @Test
+    void rejectsTimestampsGoingBackwards() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "hot", ActionType.PLACE, Location.HEATER);
+        validator.accept(T0 - 1, "cold", ActionType.PLACE, Location.COOLER);
+
+        assertViolation(validator.report(), "before the previous action");
+    }
+
+    @Test
+    void rejectsUnknownOrdersAndUnknownActionNames() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "ghost", ActionType.PLACE, Location.SHELF);
+        validator.accept(T0, "hot", "bake", "heater");
+
+        ValidationReport report = validator.report();
+        assertEquals(2, report.violationCount());
+        assertViolation(report, "unknown order ghost");
+        assertViolation(report, "invalid action bake/heater");
+    }
+
+    @Test
+    void rejectsPlacingTwiceOrOutsideTheIdealStorageOrShelf() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "hot", ActionType.PLACE, Location.COOLER);
+        validator.accept(T0, "hot", ActionType.PLACE, Location.HEATER);
+
+        ValidationReport report = validator.report();
+        assertViolation(report, "placed in cooler which is neither its ideal storage nor the shelf");
+        assertViolation(report, "placed twice");
+    }
+
+    @Test
+    void rejectsStoringBeyondCapacity() {
+        ActionValidator validator = ActionValidator.builder().capacity(Location.SHELF, 1).build(ORDERS);
+        validator.accept(T0, "hot", ActionType.PLACE, Location.SHELF);
+        validator.accept(T0, "room", ActionType.PLACE, Location.SHELF);
+
+        assertViolation(validator.report(), "shelf over capacity 1");
+    }
+
+    @Test
+    void rejectsActionsNamingTheWrongLocationOrAnOrderThatLeft() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "hot", ActionType.PLACE, Location.HEATER);
+        validator.accept(T0, "cold", ActionType.MOVE, Location.COOLER);
+        validator.accept(T0 + SECOND, "hot", ActionType.PICKUP, Location.SHELF);
+        validator.accept(T0 + 2 * SECOND, "hot", ActionType.PICKUP, Location.HEATER);
+
+        ValidationReport report = validator.report();
+        assertViolation(report, "move of order cold before it was placed");
+        assertViolation(report, "picked up from shelf but it is in heater");
+        assertViolation(report, "after it left the kitchen");
+    }
+
+    @Test
+    void rejectsMovingToTheSameLocation() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "hot", ActionType.PLACE, Location.SHELF);
+        validator.accept(T0, "hot", ActionType.MOVE, Location.SHELF);
+
+        assertViolation(validator.report(), "moved to shelf where it already is");
+    }
+
+    @Test
+    void countsPickupsAfterExpiryAsStale() {
+        ActionValidator validator = validator();
+        validator.accept(T0, "hot", ActionType.PLACE, Location.HEATER);
+        validator.accept(T0 + 31 * SECOND, "hot", ActionType.PICKUP, Location.HEATER);
+
+        ValidationReport report = validator.report();
+        assertEquals(1, report.stalePickups());
+        assertEquals(0, report.deliveredValue());
+        assertViolation(report, "after it expired");
+    }
+
+    @Test
+    void onlyAllowsDiscardingAFreshOrderFromAFullStorage() {
+        ActionValidator full = ActionValidator.builder().capacity(Location.SHELF, 2).build(ORDERS);
+        full.accept(T0, "hot", ActionType.PLACE, Location.SHELF);
+        full.accept(T0, "room", ActionType.PLACE, Location.SHELF);
+        full.accept(T0 + SECOND, "hot", ActionType.DISCARD, Location.SHELF);
+        assertTrue(full.report().isValid(), full.report().toString());
+
+        ActionValidator roomy = validator();
+        roomy.accept(T0, "hot", ActionType.PLACE, Location.SHELF);
+        roomy.accept(T0 + SECOND, "hot", ActionType.DISCARD, Location.SHELF);
+        assertViolation(roomy.report(), "fresh order hot discarded from shelf which was not full");
+    }
+
+    @Test
+    void banksFreshnessUsedBeforeAMoveAtTheOldRate() {
+        // On the shelf a hot order decays twice as fast: 10s there use 20 of its 30s
+        FreshnessDecayModel decay = FreshnessDecayModel.builder().nonIdealMultiplier(Location.SHELF, 2).build();
+
+        ActionValidator inTime = ActionValidator.builder().decayModel(decay).build(ORDERS);
+        inTime.accept(T0, "hot", ActionType.PLACE, Location.SHELF);
+        inTime.accept(T0 + 10 * SECOND, "hot", ActionType.MOVE, Location.HEATER);
+        inTime.accept(T0 + 19 * SECOND, "hot", ActionType.PICKUP, Location.HEATER);
+        assertTrue(inTime.report().isValid(), inTime.report().toString());
+
+        ActionValidator late = ActionValidator.builder().decayModel(decay).build(ORDERS);
+        late.accept(T0, "hot", ActionType.PLACE, Location.SHELF);
+        late.accept(T0 + 10 * SECOND, "hot", ActionType.MOVE, Location.HEATER);
+        late.accept(T0 + 21 * SECOND, "hot", ActionType.PICKUP, Location.HEATER);
+        assertEquals(1, late.report().stalePickups());
+    }
+
+    @Test
+    void rejectsDuplicateOrderIds() {
+        List<Order> duplicated = List.of(ORDERS.get(0), ORDERS.get(0));
+        assertThrows(IllegalArgumentException.class, () -> ActionValidator.builder().build(duplicated));
+    }
+}
@@ -0,0 +1,65 @@
+package com.css.challenge.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class OrderReaderTest {
+
+  private static InputStream json(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void readsOrdersOneAtATime() throws IOException {
+    try (OrderReader reader =
+        new OrderReader(
+            json(
+                "[{\"id\":\"a\",\"name\":\"Ramen\",\"temp\":\"hot\",\"price\":12,\"freshness\":30},"
+                    + "{\"id\":\"b\",\"name\":\"Sushi\",\"temp\":\"cold\",\"price\":20,\"freshness\":45}]"))) {
+      assertTrue(reader.hasNext());
+      Order first = reader.next();
+      assertEquals("a", first.getId());
+      assertEquals("hot", first.getTemp());
+      assertEquals(12, first.getPrice());
+      assertEquals(30, first.getFreshness());
+      assertEquals("b", reader.next().getId());
+      assertFalse(reader.hasNext());
+      assertThrows(NoSuchElementException.class, reader::next);
+    }
+  }
+
+  @Test
+  void rejectsABodyThatIsNotAnArray() {
+    assertThrows(IOException.class, () -> new OrderReader(json("{\"id\":\"a\"}")));
+  }
+
+  @Test
+  void surfacesAMalformedOrderAsUncheckedIOException() throws IOException {
+    try (OrderReader reader =
+        new OrderReader(
+            json("[{\"id\":\"a\",\"name\":\"Ramen\",\"temp\":\"hot\",\"price\":12,\"freshness\":30}, {\"id\": ]"))) {
+      assertEquals("a", reader.next().getId());
+      assertThrows(UncheckedIOException.class, reader::hasNext);
+    }
+  }
+
+  @Test
+  void surfacesATruncatedStreamAsUncheckedIOException() throws IOException {
+    try (OrderReader reader =
+        new OrderReader(
+            json("[{\"id\":\"a\",\"name\":\"Ramen\",\"temp\":\"hot\",\"price\":12,\"freshness\":30},{\"id\":\"b\""))) {
+      assertEquals("a", reader.next().getId());
+      assertThrows(UncheckedIOException.class, reader::hasNext);
+    }
+  }
+}